@@ -1,11 +1,30 @@
+import { useEffect } from 'react'
 import { Outlet, Link, useNavigate, useLocation } from 'react-router-dom'
+import { useQueryClient } from '@tanstack/react-query'
 import { useAuth } from '../../context/AuthContext'
+import { subscribeToTicketChanges } from '../../services/ticketStream'
 import { LogOut, Home, Ticket, Settings, Plus } from 'lucide-react'
 
 export default function Layout() {
   const { user, logout, hasRole } = useAuth()
   const navigate = useNavigate()
   const location = useLocation()
+  const queryClient = useQueryClient()
+
+  // Live updates replace polling: refetch whatever a committed change touched
+  useEffect(() => {
+    const controller = new AbortController()
+    subscribeToTicketChanges((change) => {
+      queryClient.invalidateQueries({ queryKey: ['tickets'] })
+      queryClient.invalidateQueries({ queryKey: ['tickets-dashboard'] })
+      queryClient.invalidateQueries({ queryKey: ['tickets-stats'] })
+      queryClient.invalidateQueries({ queryKey: ['ticket', change.ticketId] })
+      if (change.type === 'COMMENT_ADDED' || change.type === 'COMMENT_DELETED') {
+        queryClient.invalidateQueries({ queryKey: ['comments', change.ticketId] })
+      }
+    }, controller.signal)
+    return () => controller.abort()
+  }, [queryClient])
 
   const handleLogout = () => {
     logout()
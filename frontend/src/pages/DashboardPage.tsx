@@ -7,21 +7,24 @@ import { Ticket, Clock, CheckCircle, AlertCircle, Plus } from 'lucide-react'
 export default function DashboardPage() {
   const { user } = useAuth()
 
+  const { data: ticketStats } = useQuery({
+    queryKey: ['tickets-stats'],
+    queryFn: () => ticketService.getStats()
+  })
+
   const { data: ticketsData, isLoading } = useQuery({
     queryKey: ['tickets-dashboard'],
-    queryFn: () => ticketService.getAll(0, 100)
+    queryFn: () => ticketService.getAll(0, 5)
   })
 
-  const tickets = ticketsData?.content || []
-
   const stats = {
-    total: tickets.length,
-    open: tickets.filter(t => t.status === 'OPEN').length,
-    inProgress: tickets.filter(t => t.status === 'IN_PROGRESS').length,
-    resolved: tickets.filter(t => t.status === 'RESOLVED').length,
+    total: ticketStats?.total ?? 0,
+    open: ticketStats?.byStatus.OPEN ?? 0,
+    inProgress: ticketStats?.byStatus.IN_PROGRESS ?? 0,
+    resolved: ticketStats?.byStatus.RESOLVED ?? 0,
   }
 
-  const recentTickets = tickets.slice(0, 5)
+  const recentTickets = ticketsData?.content || []
 
   return (
     <div className="space-y-6">
@@ -21,14 +21,92 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
-// Response interceptor - handle auth errors
+// Concurrent failures share one refresh; refresh tokens rotate on every use
+let refreshing: Promise<string> | null = null;
+
+// Tabs share the stored tokens, so they take turns refreshing them
+const withRefreshLock = (task: () => Promise<string>): Promise<string> =>
+  navigator.locks ? navigator.locks.request('auth-refresh', task) : task();
+
+const REFRESH_CONFLICT_RETRIES = 10;
+const REFRESH_CONFLICT_DELAY_MS = 200;
+
+// 409: another tab rotated this token a moment ago; pick up what it stores
+const awaitRotatedToken = async (sentToken: string): Promise<string> => {
+  for (let attempt = 0; attempt < REFRESH_CONFLICT_RETRIES; attempt++) {
+    await new Promise((resolve) => setTimeout(resolve, REFRESH_CONFLICT_DELAY_MS));
+    const token = localStorage.getItem('token');
+    if (localStorage.getItem('refreshToken') !== sentToken && token) {
+      return token;
+    }
+  }
+  throw new Error('Refresh token was rotated elsewhere');
+};
+
+const rotateRefreshToken = async (failedToken: string): Promise<string> => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  const token = localStorage.getItem('token');
+  if (!refreshToken) {
+    throw new Error('No refresh token');
+  }
+  // Another tab rotated it while this one waited for the lock
+  if (refreshToken !== failedToken && token) {
+    return token;
+  }
+  let response;
+  try {
+    response = await axios.post(`${API_URL}/api/auth/refresh`, { refreshToken });
+  } catch (error) {
+    if (axios.isAxiosError(error) && error.response?.status === 409) {
+      return awaitRotatedToken(refreshToken);
+    }
+    throw error;
+  }
+  localStorage.setItem('token', response.data.token);
+  localStorage.setItem('refreshToken', response.data.refreshToken);
+  return response.data.token as string;
+};
+
+const refreshAccessToken = (): Promise<string> => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return Promise.reject(new Error('No refresh token'));
+  }
+  refreshing ??= withRefreshLock(() => rotateRefreshToken(refreshToken))
+    .finally(() => {
+      refreshing = null;
+    });
+  return refreshing;
+};
+
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.location.href = '/login';
+};
+
+// Response interceptor - renew expired sessions, otherwise back to login
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
-      window.location.href = '/login';
+  async (error) => {
+    const status = error.response?.status;
+    const original = error.config;
+    const isAuthCall = original?.url?.startsWith('/api/auth/');
+
+    if ((status === 401 || status === 403) && original
+        && !original._retry && !isAuthCall
+        && localStorage.getItem('refreshToken')) {
+      original._retry = true;
+      try {
+        const token = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch {
+        clearSession();
+      }
+    } else if (status === 401 && !isAuthCall) {
+      clearSession();
     }
     return Promise.reject(error);
   }
@@ -1,5 +1,5 @@
 import api from './api';
-import type { Ticket, PageResponse, TicketPriority, TicketStatus } from '../types';
+import type { Ticket, PageResponse, TicketPriority, TicketStats, TicketStatus } from '../types';
 
 export const ticketService = {
   getAll: async (page = 0, size = 10): Promise<PageResponse<Ticket>> => {
@@ -8,6 +8,11 @@ export const ticketService = {
     return response.data;
   },
 
+  getStats: async (): Promise<TicketStats> => {
+    const response = await api.get('/api/tickets/stats');
+    return response.data;
+  },
+
   getById: async (id: string): Promise<Ticket> => {
     const response = await api.get(`/api/tickets/${id}`);
     return response.data;
@@ -0,0 +1,60 @@
+import api from './api';
+import type { TicketChange } from '../types';
+
+const RECONNECT_DELAY_MS = 5000;
+
+// EventSource cannot send the Authorization header, so the stream is read with
+// fetch and parsed here. Each reconnect picks up the latest (refreshed) token.
+export const subscribeToTicketChanges = (
+  onChange: (change: TicketChange) => void,
+  signal: AbortSignal
+): void => {
+  const connect = async () => {
+    while (!signal.aborted) {
+      try {
+        const response = await fetch(`${api.defaults.baseURL}/api/tickets/stream`, {
+          headers: {
+            Accept: 'text/event-stream',
+            Authorization: `Bearer ${localStorage.getItem('token') ?? ''}`,
+          },
+          signal,
+        });
+        if (response.ok && response.body) {
+          await readEvents(response.body, onChange);
+        }
+      } catch {
+        // Network error or aborted; retry below unless aborted
+      }
+      await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+    }
+  };
+  void connect();
+};
+
+const readEvents = async (
+  body: ReadableStream<Uint8Array>,
+  onChange: (change: TicketChange) => void
+) => {
+  const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value;
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const block = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      const data = block
+        .split('\n')
+        .filter((line) => line.startsWith('data:'))
+        .map((line) => line.slice(5))
+        .join('\n');
+      if (data) {
+        onChange(JSON.parse(data) as TicketChange);
+      }
+    }
+  }
+};
@@ -26,9 +26,25 @@ export interface Ticket {
   createdAt: string;
   updatedAt: string;
   resolvedAt: string | null;
+  dueAt: string | null;
+  slaBreached: boolean;
   commentCount: number;
 }
 
+export type TicketEventType = 'CREATED' | 'UPDATED' | 'DELETED' |
+                               'COMMENT_ADDED' | 'COMMENT_DELETED' |
+                               'SLA_BREACHED';
+
+export interface TicketChange {
+  type: TicketEventType;
+  ticketId: string;
+  actor: string;
+  occurredAt: string;
+  status?: TicketStatus;
+  priority?: TicketPriority;
+  assigneeUsername?: string;
+}
+
 export interface Comment {
   id: string;
   content: string;
@@ -38,6 +54,7 @@ export interface Comment {
 
 export interface AuthResponse {
   token: string;
+  refreshToken: string;
   type: string;
   user: User;
 }
@@ -59,3 +76,17 @@ export interface ApiError {
   path: string;
   validationErrors?: Record<string, string>;
 }
+
+export interface AssigneeCount {
+  id: string;
+  username: string;
+  count: number;
+}
+
+export interface TicketStats {
+  total: number;
+  byStatus: Record<TicketStatus, number>;
+  byPriority: Record<TicketPriority, number>;
+  byAssignee: AssigneeCount[];
+  unassigned: number;
+}
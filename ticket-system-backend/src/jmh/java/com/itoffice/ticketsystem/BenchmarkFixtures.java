@@ -0,0 +1,86 @@
+package com.itoffice.ticketsystem;
+
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed input data for the JMH benchmarks
+ *
+ * Everything is derived from constants (name-based UUIDs, a fixed clock
+ * origin), so every run and every fork measures identical objects.
+ */
+public final class BenchmarkFixtures {
+
+    public static final int PAGE_SIZE = 20;
+    public static final String JWT_SECRET =
+        "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 1, 15, 9, 0);
+    private static final String DESCRIPTION = "Laptop does not connect to the office VPN after the latest "
+        + "update. Error 809 is shown; restarting the client and the laptop did not help.";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(String username, Role role) {
+        return User.builder()
+                .id(UUID.nameUUIDFromBytes(username.getBytes()))
+                .username(username)
+                .email(username + "@itoffice.local")
+                .password("{noop}unused")
+                .role(role)
+                .createdAt(ORIGIN)
+                .build();
+    }
+
+    public static List<Ticket> tickets() {
+        User creator = user("bench-user", Role.ROLE_USER);
+        User assignee = user("bench-tech", Role.ROLE_TECHNICIAN);
+        return IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> Ticket.builder()
+                        .id(UUID.nameUUIDFromBytes(("ticket-" + i).getBytes()))
+                        .title("VPN connection fails after update #" + i)
+                        .description(DESCRIPTION)
+                        .status(TicketStatus.values()[i % TicketStatus.values().length])
+                        .priority(TicketPriority.values()[i % TicketPriority.values().length])
+                        .createdBy(creator)
+                        .assignedTo(i % 2 == 0 ? assignee : null)
+                        .createdAt(ORIGIN.plusMinutes(i))
+                        .updatedAt(ORIGIN.plusMinutes(i + 5))
+                        .dueAt(ORIGIN.plusHours(4 + i))
+                        .commentCount(i % 5)
+                        .build())
+                .toList();
+    }
+
+    public static List<TicketSummary> summaries() {
+        return tickets().stream()
+                .map(ticket -> {
+                    User creator = ticket.getCreatedBy();
+                    User assignee = ticket.getAssignedTo();
+                    return new TicketSummary(
+                        ticket.getId(), ticket.getTitle(), ticket.getDescription(),
+                        ticket.getStatus(), ticket.getPriority(),
+                        ticket.getCreatedAt(), ticket.getUpdatedAt(), ticket.getResolvedAt(), ticket.getDueAt(),
+                        creator.getId(), creator.getUsername(), creator.getEmail(),
+                        creator.getRole(), creator.isEnabled(), creator.getCreatedAt(),
+                        assignee != null ? assignee.getId() : null,
+                        assignee != null ? assignee.getUsername() : null,
+                        assignee != null ? assignee.getEmail() : null,
+                        assignee != null ? assignee.getRole() : null,
+                        assignee != null ? assignee.isEnabled() : null,
+                        assignee != null ? assignee.getCreatedAt() : null,
+                        (long) ticket.getCommentCount());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.itoffice.ticketsystem.security;
+
+import com.itoffice.ticketsystem.BenchmarkFixtures;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of the JWT filter in steady state (warm token, version and principal caches)
+ *
+ * anonymousRequest runs the filter without a token and is the baseline for
+ * the mock request/response and chain overhead included in the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String claimsToken;
+    private String subjectOnlyToken;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user("bench-user", Role.ROLE_USER);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(0));
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+        JwtUtil jwtUtil = JwtUtilBenchmark.jwtUtil(10_000);
+        TokenVersionRegistry tokenVersions = new TokenVersionRegistry(userRepository);
+        ReflectionTestUtils.setField(tokenVersions, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(tokenVersions, "ttl", Duration.ofMinutes(5));
+        tokenVersions.init();
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(principalCache, "ttl", Duration.ofMinutes(10));
+        principalCache.init();
+
+        filter = new JwtAuthenticationFilter(jwtUtil, principalCache, tokenVersions);
+        claimsToken = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        UserDetails subjectOnly = org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername())
+                .password("unused")
+                .authorities("ROLE_USER")
+                .build();
+        subjectOnlyToken = jwtUtil.generateToken(subjectOnly);
+    }
+
+    @Benchmark
+    public Authentication anonymousRequest() throws Exception {
+        return authenticate(null);
+    }
+
+    // Principal built from the token's identity claims plus a cached version check
+    @Benchmark
+    public Authentication claimsToken() throws Exception {
+        return authenticate(claimsToken);
+    }
+
+    // Older tokens without identity claims resolve the principal from the cache
+    @Benchmark
+    public Authentication subjectOnlyToken() throws Exception {
+        return authenticate(subjectOnlyToken);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
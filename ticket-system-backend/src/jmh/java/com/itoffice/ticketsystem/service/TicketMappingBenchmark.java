@@ -0,0 +1,54 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BenchmarkFixtures;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one listing page to responses, from entities and from the listing projection
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class TicketMappingBenchmark {
+
+    private TicketService ticketService;
+    private List<Ticket> tickets;
+    private List<TicketSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // The mappers only use UserService's own mapper; nothing else is touched
+        UserService userService = new UserService(null, null, null, null);
+        ticketService = new TicketService(null, null, userService, null, null, null, null, null, null);
+        tickets = BenchmarkFixtures.tickets();
+        summaries = BenchmarkFixtures.summaries();
+    }
+
+    @Benchmark
+    public List<TicketResponse> mapEntities() {
+        return tickets.stream().map(ticketService::mapToTicketResponse).toList();
+    }
+
+    @Benchmark
+    public List<TicketResponse> mapSummaries() {
+        return summaries.stream().map(ticketService::mapToTicketResponse).toList();
+    }
+}
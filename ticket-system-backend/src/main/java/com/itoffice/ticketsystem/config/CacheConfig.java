@@ -0,0 +1,42 @@
+package com.itoffice.ticketsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itoffice.ticketsystem.service.TicketDetailCache;
+import com.itoffice.ticketsystem.stats.QueryTicketStatsEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Per-cache Caffeine settings on top of the global spring.cache.caffeine.spec
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> ticketCacheCustomizer(
+            @Value("${app.ticket.stats.cache-ttl:15s}") Duration statsTtl,
+            @Value("${app.ticket.detail-cache.max-size:10000}") long detailMaxSize,
+            @Value("${app.ticket.detail-cache.ttl:10m}") Duration detailTtl) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(
+                QueryTicketStatsEngine.CACHE_NAME,
+                Caffeine.newBuilder()
+                    .expireAfterWrite(statsTtl)
+                    .maximumSize(10_000)
+                    .recordStats()
+                    .build());
+            cacheManager.registerCustomCache(
+                TicketDetailCache.CACHE_NAME,
+                Caffeine.newBuilder()
+                    .expireAfterWrite(detailTtl)
+                    .maximumSize(detailMaxSize)
+                    .recordStats()
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.itoffice.ticketsystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.web.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Request concurrency limit sized from the JDBC pool
+ *
+ * On by default when spring.threads.virtual.enabled is set, since that is
+ * when Tomcat stops bounding concurrency itself. Runs ahead of the security
+ * chain so token checks that hit the database are covered too.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency.limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    // Hikari's default; also used for other pools and before Hikari has applied its defaults
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${app.concurrency.limit.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.concurrency.limit.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${app.concurrency.limit.acquire-timeout:2s}") Duration acquireTimeout,
+            @Value("${app.concurrency.limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        int limit = maxConcurrent > 0
+                ? maxConcurrent
+                : poolSize(dataSource) * permitsPerConnection;
+        log.info("Limiting API requests to {} concurrent", limit);
+        return new ConcurrencyLimitFilter(limit, acquireTimeout, retryAfterSeconds, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int configured = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return configured > 0 ? configured : DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size; assuming {}", DEFAULT_POOL_SIZE, e);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
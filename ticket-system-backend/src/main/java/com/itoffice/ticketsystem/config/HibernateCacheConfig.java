@@ -0,0 +1,79 @@
+package com.itoffice.ticketsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.itoffice.ticketsystem.model.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache, on Caffeine's JCache provider
+ *
+ * Regions are created here, sized and timed from app.cache.hibernate.*,
+ * instead of in a Caffeine application.conf. Hibernate is told to fail on a
+ * region that is not created here, so a newly cached entity or query cannot
+ * silently run without a bound. Each application context gets its own
+ * CacheManager, so test contexts sharing a JVM never see each other's rows.
+ *
+ * Cached entities are read-write: updates and deletes made through the
+ * session (all of UserService's mutations) replace or evict the entry when
+ * the transaction commits, and any write to a table invalidates cached query
+ * results over it. The TTL bounds how long another instance's change can go
+ * unseen.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.hibernate.users.max-size:10000}") long usersMaxSize,
+            @Value("${app.cache.hibernate.users.ttl:10m}") Duration usersTtl,
+            @Value("${app.cache.hibernate.users-by-username.max-size:10000}") long usernamesMaxSize,
+            @Value("${app.cache.hibernate.users-by-username.ttl:10m}") Duration usernamesTtl,
+            @Value("${app.cache.hibernate.default-query-results.max-size:1000}") long queryResultsMaxSize,
+            @Value("${app.cache.hibernate.default-query-results.ttl:5m}") Duration queryResultsTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, User.CACHE_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, User.BY_USERNAME_CACHE_REGION, usernamesMaxSize, usernamesTtl);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                queryResultsMaxSize, queryResultsTtl);
+        // One entry per table; cached query results are only valid while these are kept
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // maxSize 0 / ttl null: unbounded
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled state; copying it again buys nothing
+        configuration.setStoreByValue(false);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
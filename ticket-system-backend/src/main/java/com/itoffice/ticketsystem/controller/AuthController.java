@@ -1,6 +1,7 @@
 package com.itoffice.ticketsystem.controller;
 
 import com.itoffice.ticketsystem.dto.request.LoginRequest;
+import com.itoffice.ticketsystem.dto.request.RefreshTokenRequest;
 import com.itoffice.ticketsystem.dto.request.RegisterRequest;
 import com.itoffice.ticketsystem.dto.response.AuthResponse;
 import com.itoffice.ticketsystem.service.AuthService;
@@ -32,4 +33,11 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new token pair")
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
 }
@@ -1,9 +1,17 @@
 package com.itoffice.ticketsystem.controller;
 
+import com.itoffice.ticketsystem.dto.request.BulkUpdateTicketsRequest;
 import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
 import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.BulkUpdateTicketsResponse;
+import com.itoffice.ticketsystem.dto.response.CursorPageResponse;
 import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.export.TicketExportFormat;
+import com.itoffice.ticketsystem.export.TicketExporter;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
 import com.itoffice.ticketsystem.service.TicketService;
+import com.itoffice.ticketsystem.stream.TicketChangeStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,12 +21,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
@@ -29,6 +43,8 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketChangeStream ticketChangeStream;
+    private final TicketExporter ticketExporter;
 
     @GetMapping
     @Operation(summary = "Get all tickets (filtered by role)")
@@ -48,6 +64,67 @@ public class TicketController {
             ticketService.getAllTickets(userDetails.getUsername(), pageable));
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get tickets with keyset pagination (pass an empty cursor for the first page)")
+    public ResponseEntity<CursorPageResponse<TicketResponse>> getTicketsByCursor(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ticketService.getTicketsByCursor(
+            userDetails.getUsername(), cursor, size));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get ticket counts by status, priority and assignee (filtered by role)")
+    public ResponseEntity<TicketStatsResponse> getTicketStats(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(
+            ticketService.getTicketStats(userDetails.getUsername()));
+    }
+
+    @GetMapping("/sla/breached")
+    @Operation(summary = "Get open tickets past their SLA deadline, most overdue first (filtered by role)")
+    public ResponseEntity<Page<TicketResponse>> getSlaBreachedTickets(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ticketService.getSlaBreachedTickets(
+            userDetails.getUsername(), PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/sla/at-risk")
+    @Operation(summary = "Get open tickets due within an ISO-8601 window (e.g. PT30M), soonest first (filtered by role)")
+    public ResponseEntity<Page<TicketResponse>> getSlaAtRiskTickets(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Duration within,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ticketService.getSlaAtRiskTickets(
+            userDetails.getUsername(), within, PageRequest.of(page, size)));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream committed ticket changes as Server-Sent Events (filtered by role)")
+    public SseEmitter streamTicketChanges(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ticketChangeStream.subscribe(user);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Download all tickets as csv or ndjson, streamed (filtered by role)")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "csv") String format) {
+        TicketExportFormat exportFormat = TicketExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("tickets." + exportFormat.getExtension())
+                    .build()
+                    .toString())
+                .body(ticketExporter.export(user, exportFormat));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get ticket by ID")
     public ResponseEntity<TicketResponse> getTicketById(
@@ -77,6 +154,15 @@ public class TicketController {
             ticketService.updateTicket(id, request, userDetails.getUsername()));
     }
 
+    @PatchMapping("/bulk")
+    @Operation(summary = "Apply a status, priority and/or assignee change to many tickets at once")
+    public ResponseEntity<BulkUpdateTicketsResponse> bulkUpdateTickets(
+            @Valid @RequestBody BulkUpdateTicketsRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(
+            ticketService.bulkUpdateTickets(request, userDetails.getUsername()));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a ticket")
     public ResponseEntity<Void> deleteTicket(
@@ -87,14 +173,15 @@ public class TicketController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search tickets by title or description")
+    @Operation(summary = "Search tickets by title or description (filtered by role)")
     public ResponseEntity<Page<TicketResponse>> searchTickets(
             @RequestParam String query,
+            @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(
-            ticketService.searchTickets(query, pageable));
+        return ResponseEntity.ok(ticketService.searchTickets(
+            query, userDetails.getUsername(), pageable));
     }
 }
@@ -0,0 +1,30 @@
+package com.itoffice.ticketsystem.dto.request;
+
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateTicketsRequest {
+    @NotEmpty(message = "At least one ticket id is required")
+    @Size(max = 5000, message = "At most 5000 tickets can be updated at once")
+    private List<@NotNull UUID> ticketIds;
+
+    private TicketStatus status;
+
+    private TicketPriority priority;
+
+    private UUID assignedToId;
+}
@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 @Builder
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private UserResponse user;
 
@@ -18,4 +19,10 @@ public class AuthResponse {
         this.token = token;
         this.user = user;
     }
+
+    public AuthResponse(String token, String refreshToken, UserResponse user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.user = user;
+    }
 }
@@ -0,0 +1,17 @@
+package com.itoffice.ticketsystem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateTicketsResponse {
+    // Distinct tickets in the request
+    private int requested;
+    // Tickets that actually changed; the rest already had the requested values
+    private int updated;
+}
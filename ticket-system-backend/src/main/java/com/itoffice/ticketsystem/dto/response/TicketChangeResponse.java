@@ -0,0 +1,32 @@
+package com.itoffice.ticketsystem.dto.response;
+
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One committed ticket change as pushed on /api/tickets/stream
+ *
+ * Status, priority and assignee are the ticket's state after the change, and
+ * are absent for deletions and comment events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketChangeResponse {
+    private TicketEventType type;
+    private UUID ticketId;
+    private String actor;
+    private LocalDateTime occurredAt;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private String assigneeUsername;
+}
@@ -0,0 +1,33 @@
+package com.itoffice.ticketsystem.dto.response;
+
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketStatsResponse {
+    private long total;
+    private Map<TicketStatus, Long> byStatus;
+    private Map<TicketPriority, Long> byPriority;
+    private List<AssigneeCount> byAssignee;
+    private long unassigned;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssigneeCount {
+        private UUID id;
+        private String username;
+        private long count;
+    }
+}
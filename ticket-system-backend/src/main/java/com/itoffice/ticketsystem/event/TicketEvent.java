@@ -0,0 +1,36 @@
+package com.itoffice.ticketsystem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event raised by TicketService and CommentService for every ticket change
+ *
+ * Raised inside the writing transaction and, with the outbox enabled, stored
+ * in it and delivered by {@link TicketOutboxRelay} after commit. Consumers
+ * that maintain derived state (search index, caches, ...) should listen with
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)}
+ * so they only see committed changes on either path, and should tolerate the
+ * occasional redelivery.
+ *
+ * Ticket lifecycle events also carry snapshots of the ticket before and after
+ * the change (before is null on CREATED, after is null on DELETED); comment
+ * events carry neither.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketEvent {
+    private TicketEventType type;
+    private UUID ticketId;
+    private String actor;
+    private LocalDateTime occurredAt;
+    private TicketSnapshot before;
+    private TicketSnapshot after;
+}
@@ -0,0 +1,50 @@
+package com.itoffice.ticketsystem.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Single entry point for raising {@link TicketEvent}s from the service layer
+ *
+ * Inside a transaction, events go to the {@link TicketOutbox} (when enabled)
+ * and reach listeners through the relay once the change commits; otherwise
+ * they are published to listeners directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectProvider<TicketOutbox> outbox;
+
+    public void publish(TicketEventType type, UUID ticketId, String actor) {
+        publish(type, ticketId, actor, null, null);
+    }
+
+    public void publish(TicketEventType type, UUID ticketId, String actor,
+                        TicketSnapshot before, TicketSnapshot after) {
+        publish(TicketEvent.builder()
+                .type(type)
+                .ticketId(ticketId)
+                .actor(actor)
+                .occurredAt(LocalDateTime.now())
+                .before(before)
+                .after(after)
+                .build());
+    }
+
+    public void publish(TicketEvent event) {
+        TicketOutbox target = outbox.getIfAvailable();
+        if (target != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            target.append(event);
+        } else {
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+}
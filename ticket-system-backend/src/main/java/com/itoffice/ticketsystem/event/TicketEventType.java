@@ -0,0 +1,13 @@
+package com.itoffice.ticketsystem.event;
+
+/**
+ * Kind of change recorded by a {@link TicketEvent}
+ */
+public enum TicketEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    COMMENT_ADDED,
+    COMMENT_DELETED,
+    SLA_BREACHED
+}
@@ -0,0 +1,145 @@
+package com.itoffice.ticketsystem.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.model.TicketOutboxEvent;
+import com.itoffice.ticketsystem.repository.TicketOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox for {@link TicketEvent}s
+ *
+ * {@link #append} stores the event in ticket_outbox as part of the caller's
+ * transaction, so an event exists if and only if the change that raised it
+ * committed. {@link TicketOutboxRelay} then claims rows in batches, hands them
+ * to the in-process listeners and deletes them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TicketOutbox {
+
+    private final TicketOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${app.events.outbox.lease:60s}")
+    private Duration lease;
+
+    @Value("${app.events.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Raised (after commit) whenever events were appended, to wake the relay
+     */
+    public record Appended() {
+    }
+
+    /**
+     * An outbox row claimed by the relay, with its event rebuilt
+     */
+    public record Claimed(long id, TicketEvent event) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TicketEvent event) {
+        outboxRepository.save(TicketOutboxEvent.builder()
+                .eventType(event.getType())
+                .ticketId(event.getTicketId())
+                .actor(event.getActor())
+                .occurredAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())
+                .beforeSnapshot(write(event.getBefore()))
+                .afterSnapshot(write(event.getAfter()))
+                .availableAt(LocalDateTime.now())
+                .build());
+        applicationEventPublisher.publishEvent(new Appended());
+    }
+
+    /**
+     * Lock the oldest available rows (skipping ones other relays hold) and lease them
+     */
+    @Transactional
+    public List<Claimed> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketOutboxEvent> rows = outboxRepository
+                .findAvailableForUpdate(now, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        outboxRepository.lease(rows.stream().map(TicketOutboxEvent::getId).toList(), now.plus(lease));
+        return rows.stream().map(row -> new Claimed(row.getId(), toEvent(row))).toList();
+    }
+
+    @Transactional
+    public void complete(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepository.deleteByIdIn(ids);
+        }
+    }
+
+    /**
+     * Record a failed dispatch; the rows come back once their lease runs out
+     *
+     * @return number of rows dropped for good after too many attempts
+     */
+    @Transactional
+    public int release(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        outboxRepository.incrementAttempts(ids);
+        int dropped = outboxRepository.deleteExhausted(ids, maxAttempts);
+        if (dropped > 0) {
+            log.error("Dropped {} ticket event(s) from the outbox after {} failed attempts",
+                dropped, maxAttempts);
+        }
+        return dropped;
+    }
+
+    private TicketEvent toEvent(TicketOutboxEvent row) {
+        return TicketEvent.builder()
+                .type(row.getEventType())
+                .ticketId(row.getTicketId())
+                .actor(row.getActor())
+                .occurredAt(row.getOccurredAt())
+                .before(read(row.getBeforeSnapshot()))
+                .after(read(row.getAfterSnapshot()))
+                .build();
+    }
+
+    private String write(TicketSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ticket snapshot", e);
+        }
+    }
+
+    private TicketSnapshot read(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, TicketSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read ticket snapshot", e);
+        }
+    }
+}
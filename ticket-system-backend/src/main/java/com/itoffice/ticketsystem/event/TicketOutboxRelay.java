@@ -0,0 +1,150 @@
+package com.itoffice.ticketsystem.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves events from the ticket outbox to the in-process listeners
+ *
+ * A single worker drains the outbox as soon as a writing transaction commits
+ * (and on a fixed poll as a backstop), in batches of up to batch-size rows:
+ * claim under SKIP LOCKED, dispatch outside any transaction so
+ * {@code @TransactionalEventListener}s run right away, then delete. A batch
+ * that fails part-way is re-dispatched after its lease, so listeners see
+ * every committed event at least once and should tolerate repeats.
+ *
+ * Rows are dispatched to the listeners of the instance that claims them; the
+ * per-instance projections (search index, stats counters) already reconcile
+ * against the database for changes made elsewhere.
+ *
+ * With background-drain off the relay only runs when {@link #drain} is called,
+ * which lets tests count SQL statements with the outbox enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketOutboxRelay implements MeterBinder, DisposableBean {
+
+    private final TicketOutbox outbox;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final boolean backgroundDrain;
+
+    private final ScheduledExecutorService worker;
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    private Counter dispatchedCounter;
+    private Counter failedCounter;
+
+    public TicketOutboxRelay(TicketOutbox outbox,
+                             ApplicationEventPublisher applicationEventPublisher,
+                             @Value("${app.events.outbox.batch-size:500}") int batchSize,
+                             @Value("${app.events.outbox.poll-interval:5s}") Duration pollInterval,
+                             @Value("${app.events.outbox.background-drain:true}") boolean backgroundDrain) {
+        this.outbox = outbox;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.backgroundDrain = backgroundDrain;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!backgroundDrain) {
+            return;
+        }
+        long intervalMs = pollInterval.toMillis();
+        worker.scheduleWithFixedDelay(this::drainSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Many commits in a burst collapse into one pending drain
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAppended(TicketOutbox.Appended appended) {
+        if (backgroundDrain && drainRequested.compareAndSet(false, true)) {
+            worker.execute(this::drainSafely);
+        }
+    }
+
+    /**
+     * Dispatch everything currently available in the outbox
+     *
+     * @return number of events dispatched
+     */
+    public synchronized int drain() {
+        drainRequested.set(false);
+        int dispatched = 0;
+        List<TicketOutbox.Claimed> batch;
+        do {
+            batch = outbox.claim(batchSize);
+            List<Long> done = new ArrayList<>(batch.size());
+            List<Long> failed = new ArrayList<>();
+            for (TicketOutbox.Claimed claimed : batch) {
+                try {
+                    applicationEventPublisher.publishEvent(claimed.event());
+                    done.add(claimed.id());
+                } catch (RuntimeException e) {
+                    failed.add(claimed.id());
+                    log.warn("Listener failed for {} on ticket {}; will retry",
+                        claimed.event().getType(), claimed.event().getTicketId(), e);
+                }
+            }
+            outbox.complete(done);
+            outbox.release(failed);
+            dispatched += done.size();
+            if (dispatchedCounter != null) {
+                dispatchedCounter.increment(done.size());
+                failedCounter.increment(failed.size());
+            }
+        } while (batch.size() == batchSize);
+        return dispatched;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dispatchedCounter = Counter.builder("tickets.outbox.dispatched")
+                .description("Ticket events delivered from the outbox to listeners")
+                .register(registry);
+        failedCounter = Counter.builder("tickets.outbox.failed")
+                .description("Ticket event deliveries that failed and will be retried")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // Rows stay in the outbox; the next poll retries
+            log.error("Outbox relay run failed", e);
+        }
+    }
+}
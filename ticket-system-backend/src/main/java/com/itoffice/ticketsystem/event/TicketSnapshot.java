@@ -0,0 +1,42 @@
+package com.itoffice.ticketsystem.event;
+
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The fields of a ticket that derived counters and schedules key on,
+ * captured before and/or after a change
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSnapshot {
+    private TicketStatus status;
+    private TicketPriority priority;
+    private UUID creatorId;
+    private UUID assigneeId;
+    private String assigneeUsername;
+    private LocalDateTime dueAt;
+
+    public static TicketSnapshot of(Ticket ticket) {
+        User assignee = ticket.getAssignedTo();
+        return TicketSnapshot.builder()
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .creatorId(ticket.getCreatedBy().getId())
+                .assigneeId(assignee != null ? assignee.getId() : null)
+                .assigneeUsername(assignee != null ? assignee.getUsername() : null)
+                .dueAt(ticket.getDueAt())
+                .build();
+    }
+}
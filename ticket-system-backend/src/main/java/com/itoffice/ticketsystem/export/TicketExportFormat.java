@@ -0,0 +1,40 @@
+package com.itoffice.ticketsystem.export;
+
+import com.itoffice.ticketsystem.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the ticket export
+ *
+ * - CSV: header line plus one RFC 4180 record per ticket
+ * - NDJSON: one JSON object per line, same fields as the CSV columns
+ */
+public enum TicketExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    TicketExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TicketExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.itoffice.ticketsystem.export;
+
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One exported ticket, flattened with its creator, assignee and comment count
+ */
+public record TicketExportRow(
+        UUID id,
+        String title,
+        String description,
+        TicketStatus status,
+        TicketPriority priority,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime resolvedAt,
+        LocalDateTime dueAt,
+        UUID createdById,
+        String createdByUsername,
+        UUID assignedToId,
+        String assignedToUsername,
+        long commentCount) {
+
+    // CSV header, in component order
+    static final List<String> COLUMNS = List.of(
+            "id", "title", "description", "status", "priority",
+            "createdAt", "updatedAt", "resolvedAt", "dueAt",
+            "createdById", "createdByUsername", "assignedToId", "assignedToUsername",
+            "commentCount");
+
+    public static TicketExportRow of(Ticket ticket) {
+        User creator = ticket.getCreatedBy();
+        User assignee = ticket.getAssignedTo();
+        return new TicketExportRow(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt(),
+                ticket.getResolvedAt(),
+                ticket.getDueAt(),
+                creator.getId(),
+                creator.getUsername(),
+                assignee != null ? assignee.getId() : null,
+                assignee != null ? assignee.getUsername() : null,
+                ticket.getCommentCount());
+    }
+
+    List<Object> values() {
+        return Arrays.asList(
+                id, title, description, status, priority,
+                createdAt, updatedAt, resolvedAt, dueAt,
+                createdById, createdByUsername, assignedToId, assignedToUsername,
+                commentCount);
+    }
+}
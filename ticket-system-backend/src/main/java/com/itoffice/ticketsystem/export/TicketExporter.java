@@ -0,0 +1,213 @@
+package com.itoffice.ticketsystem.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.exception.TooManyRequestsException;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streams every ticket visible to the caller as CSV or NDJSON
+ *
+ * The body is written on the MVC async executor after the request thread is
+ * released. Rows come from {@link TicketRepository#streamForExport} inside a
+ * read-only transaction, so the JDBC driver holds one fetch of rows at a time,
+ * and each ticket and its users are detached once written: the persistence
+ * context stays empty however many rows the export has. Output is flushed to
+ * the client after every fetch.
+ *
+ * Each running export holds a database connection for its whole duration,
+ * outside the request concurrency limit, so at most max-concurrent run at
+ * once; further requests get 429. The slot is reserved on the request thread.
+ * A body that starts gives it back when it finishes, even if the async request
+ * times out while it is still streaming. If the async request completes first
+ * (client gone, timeout or error before the body ran), the completion gives it
+ * back and the body, should it still be scheduled, writes nothing. ROLE_USER
+ * callers only export tickets they created, like the REST listings.
+ */
+@Slf4j
+@Component
+public class TicketExporter implements MeterBinder {
+
+    private static final int FLUSH_EVERY = Integer.parseInt(TicketRepository.EXPORT_FETCH_SIZE);
+
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long retryAfterSeconds;
+
+    public TicketExporter(TicketRepository ticketRepository,
+                          EntityManager entityManager,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.ticket.export.max-concurrent:2}") int maxConcurrent,
+                          @Value("${app.ticket.export.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.ticketRepository = ticketRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Reserve an export slot for {@code user} and return the body that writes it
+     *
+     * @throws TooManyRequestsException if max-concurrent exports are already running
+     */
+    public StreamingResponseBody export(AuthenticatedUser user, TicketExportFormat format) {
+        if (!permits.tryAcquire()) {
+            throw new TooManyRequestsException(
+                "Too many ticket exports running, please retry shortly", retryAfterSeconds);
+        }
+        // Whichever of the body and the async completion claims it first owns the slot
+        AtomicBoolean claimed = new AtomicBoolean();
+        releaseOnAsyncCompletion(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        });
+
+        UUID creatorId = user.getRole() == Role.ROLE_USER ? user.getId() : null;
+        return out -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            long started = System.nanoTime();
+            try {
+                long rows = transaction.execute(status -> write(creatorId, format, out));
+                log.info("Exported {} tickets as {} for {} in {} ms", rows, format,
+                    user.getUsername(), (System.nanoTime() - started) / 1_000_000);
+            } catch (UncheckedIOException e) {
+                // Client went away mid-download
+                throw e.getCause();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    // Called for every outcome of the async request, also while the body is still running
+    private static void releaseOnAsyncCompletion(Runnable release) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(
+                TicketExporter.class.getName(), new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.export.active", this,
+                        exporter -> exporter.maxConcurrent - exporter.permits.availablePermits())
+                .description("Ticket exports currently streaming")
+                .register(registry);
+    }
+
+    private long write(UUID creatorId, TicketExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamForExport(creatorId)) {
+            if (format == TicketExportFormat.CSV) {
+                writeCsvRecord(writer, TicketExportRow.COLUMNS);
+            }
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                TicketExportRow row = TicketExportRow.of(ticket);
+                detach(ticket);
+                if (format == TicketExportFormat.CSV) {
+                    writeCsvRecord(writer, row.values());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Users are shared between rows; a detached one is re-read from the next row that joins it
+    private void detach(Ticket ticket) {
+        entityManager.detach(ticket);
+        entityManager.detach(ticket.getCreatedBy());
+        if (ticket.getAssignedTo() != null) {
+            entityManager.detach(ticket.getAssignedTo());
+        }
+    }
+
+    private static void writeCsvRecord(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeCsvField(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields holding a delimiter, quote or line break; double embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
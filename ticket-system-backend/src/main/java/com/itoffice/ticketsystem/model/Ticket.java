@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,14 +24,24 @@ import java.util.UUID;
  *
  * Tickets are created by users and can be assigned to technicians for resolution.
  * Each ticket has a status, priority, and can have multiple comments.
+ *
+ * Creator and assignee are lazy; queries that map tickets to responses load
+ * them through the {@value #WITH_USERS} entity graph in the same statement.
  */
 @Entity
+@NamedEntityGraph(name = Ticket.WITH_USERS, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedTo")
+})
 @Table(name = "tickets", indexes = {
         @Index(name = "idx_ticket_status", columnList = "status"),
         @Index(name = "idx_ticket_priority", columnList = "priority"),
         @Index(name = "idx_ticket_created_by", columnList = "created_by_id"),
         @Index(name = "idx_ticket_assigned_to", columnList = "assigned_to_id"),
-        @Index(name = "idx_ticket_created_at", columnList = "created_at")
+        @Index(name = "idx_ticket_created_at", columnList = "created_at"),
+        @Index(name = "idx_ticket_keyset", columnList = "created_at, id"),
+        @Index(name = "idx_ticket_created_by_keyset", columnList = "created_by_id, created_at, id"),
+        @Index(name = "idx_ticket_due_at", columnList = "due_at")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -39,6 +50,8 @@ import java.util.UUID;
 @Builder
 public class Ticket {
 
+    public static final String WITH_USERS = "Ticket.withUsers";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
@@ -86,6 +99,21 @@ public class Ticket {
     @Column(name = "closed_at")
     private LocalDateTime closedAt;
 
+    // SLA deadline, derived from createdAt and the priority targets in SlaPolicy
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    // Set once by SlaBreachScanner when the deadline passes on an open ticket
+    @Column(name = "sla_breached_at")
+    private LocalDateTime slaBreachedAt;
+
+    // Denormalized comment count. Never written through the entity; maintained by
+    // atomic UPDATEs in TicketRepository so concurrent comments cannot lose increments
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long commentCount = 0;
+
     // Relationship: Comments on this ticket
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference(value = "ticket-comments")
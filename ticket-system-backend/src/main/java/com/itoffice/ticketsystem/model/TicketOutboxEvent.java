@@ -0,0 +1,67 @@
+package com.itoffice.ticketsystem.model;
+
+import com.itoffice.ticketsystem.event.TicketEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * TicketOutboxEvent entity: a ticket domain event waiting to be dispatched
+ *
+ * Written in the same transaction as the ticket change that raised it and
+ * deleted by the relay once every in-process listener has seen it. Snapshots
+ * are stored as JSON.
+ */
+@Entity
+@Table(name = "ticket_outbox", indexes = {
+        @Index(name = "idx_ticket_outbox_available", columnList = "available_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketOutboxEvent {
+
+    // Pooled sequence, so appends join the JDBC batch of the change that raised
+    // them; ids still rise per instance, so the relay dispatches in commit-ish order
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_outbox_seq")
+    @SequenceGenerator(name = "ticket_outbox_seq", sequenceName = "ticket_outbox_seq", allocationSize = 50)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private TicketEventType eventType;
+
+    @Column(name = "ticket_id", nullable = false)
+    private UUID ticketId;
+
+    @Column(name = "actor", length = 50)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "before_snapshot", columnDefinition = "TEXT")
+    private String beforeSnapshot;
+
+    @Column(name = "after_snapshot", columnDefinition = "TEXT")
+    private String afterSnapshot;
+
+    // Claimed rows are pushed into the future for the lease; a relay that dies
+    // mid-batch leaves them to be picked up again once it runs out
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "attempts", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int attempts = 0;
+}
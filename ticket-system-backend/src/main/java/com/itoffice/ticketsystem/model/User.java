@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,6 +25,9 @@ import java.util.UUID;
  *
  * Users can have different roles (USER, TECHNICIAN, MANAGER, ADMIN)
  * and can create tickets or be assigned to resolve them.
+ *
+ * Users are read on nearly every request and rarely change, so they are held
+ * in the second-level cache (see HibernateCacheConfig).
  */
 @Entity
 @Table(name = "users", indexes = {
@@ -29,6 +35,8 @@ import java.util.UUID;
         @Index(name = "idx_user_email", columnList = "email"),
         @Index(name = "idx_user_role", columnList = "role")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
@@ -36,6 +44,9 @@ import java.util.UUID;
 @Builder
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String BY_USERNAME_CACHE_REGION = "users-by-username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
@@ -59,6 +70,12 @@ public class User {
     @Builder.Default
     private boolean enabled = true;
 
+    // Embedded in issued JWTs; bumping it revokes every token issued before
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int tokenVersion = 0;
+
     @Column(name = "first_name", length = 50)
     private String firstName;
 
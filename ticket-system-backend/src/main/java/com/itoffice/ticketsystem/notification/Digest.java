@@ -0,0 +1,39 @@
+package com.itoffice.ticketsystem.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Pending digest email for one recipient: coalesced update lines plus retry state
+ */
+@Getter
+@RequiredArgsConstructor
+class Digest {
+
+    // Lines beyond this are only counted, so a long SMTP outage cannot grow a digest without bound
+    static final int MAX_LINES = 50;
+
+    private final String email;
+    private final String username;
+    private final Set<String> lines = new LinkedHashSet<>();
+    private int omitted;
+    private int attempts;
+    private Instant nextAttemptAt = Instant.EPOCH;
+
+    void add(String line) {
+        if (lines.size() < MAX_LINES) {
+            lines.add(line);
+        } else if (!lines.contains(line)) {
+            omitted++;
+        }
+    }
+
+    void failed(Instant retryAt) {
+        attempts++;
+        nextAttemptAt = retryAt;
+    }
+}
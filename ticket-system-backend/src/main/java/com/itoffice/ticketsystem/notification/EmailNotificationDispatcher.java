@@ -0,0 +1,245 @@
+package com.itoffice.ticketsystem.notification;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import com.itoffice.ticketsystem.repository.projection.UserContact;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Emails ticket lifecycle updates as per-recipient digests, off the request path
+ *
+ * Committed ticket events are only offered to a bounded in-memory queue; a
+ * single worker thread drains it every digest interval. Each batch loads its
+ * tickets in one query and the assignees its events name in another, then
+ * folds all updates for the same person into one email and sends it. Failed
+ * sends are retried with exponential backoff, accumulating any newer updates
+ * for that recipient in the meantime.
+ *
+ * When the queue is full new events are dropped (and counted) rather than
+ * slowing down the request that produced them. Queued events do not survive
+ * a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.notifications.email.enabled", havingValue = "true")
+public class EmailNotificationDispatcher implements MeterBinder, DisposableBean {
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration digestInterval;
+
+    private final BlockingQueue<TicketEvent> queue;
+    private final Map<String, Digest> outbox = new LinkedHashMap<>();
+    private final ScheduledExecutorService worker;
+
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter droppedCounter;
+
+    public EmailNotificationDispatcher(
+            TicketRepository ticketRepository,
+            UserRepository userRepository,
+            JavaMailSender mailSender,
+            @Value("${app.notifications.email.from:noreply@itoffice.local}") String from,
+            @Value("${app.notifications.email.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.email.digest-interval:60s}") Duration digestInterval,
+            @Value("${app.notifications.email.max-attempts:5}") int maxAttempts,
+            @Value("${app.notifications.email.initial-backoff:30s}") Duration initialBackoff) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.digestInterval = digestInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMs = digestInterval.toMillis();
+        worker.scheduleWithFixedDelay(this::flushSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        if (!NotificationRules.isNotifiable(event)) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            if (droppedCounter != null) {
+                droppedCounter.increment();
+            }
+            log.warn("Email notification queue full; dropped {} for ticket {}",
+                event.getType(), event.getTicketId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        sentCounter = Counter.builder("notifications.email.sent")
+                .description("Digest emails delivered to the SMTP server")
+                .register(registry);
+        failedCounter = Counter.builder("notifications.email.failed")
+                .description("Digest emails given up on after all retries")
+                .register(registry);
+        droppedCounter = Counter.builder("notifications.email.dropped")
+                .description("Ticket events dropped because the notification queue was full")
+                .register(registry);
+        Gauge.builder("notifications.email.queue", queue, BlockingQueue::size)
+                .description("Ticket events waiting to be folded into digests")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Fold queued events into digests and send those that are due
+     *
+     * Runs on the worker thread; exposed for tests.
+     *
+     * @return number of emails sent
+     */
+    synchronized int flush() {
+        List<TicketEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+        if (!events.isEmpty()) {
+            collect(events);
+        }
+
+        Instant now = Instant.now();
+        int sent = 0;
+        Iterator<Digest> pending = outbox.values().iterator();
+        while (pending.hasNext()) {
+            Digest digest = pending.next();
+            if (digest.getNextAttemptAt().isAfter(now)) {
+                continue;
+            }
+            try {
+                mailSender.send(toMessage(digest));
+                pending.remove();
+                sent++;
+                if (sentCounter != null) {
+                    sentCounter.increment();
+                }
+            } catch (MailException e) {
+                if (digest.getAttempts() + 1 >= maxAttempts) {
+                    pending.remove();
+                    if (failedCounter != null) {
+                        failedCounter.increment();
+                    }
+                    log.error("Giving up on digest for {} after {} attempts",
+                        digest.getEmail(), maxAttempts, e);
+                } else {
+                    Duration backoff = initialBackoff.multipliedBy(1L << digest.getAttempts());
+                    digest.failed(now.plus(backoff));
+                    log.warn("Digest for {} failed (attempt {}), retrying in {}: {}",
+                        digest.getEmail(), digest.getAttempts(), backoff, e.getMessage());
+                }
+            }
+        }
+        return sent;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the worker alive; undelivered digests stay in the outbox
+            log.error("Email digest run failed", e);
+        }
+    }
+
+    private void collect(List<TicketEvent> events) {
+        List<UUID> ticketIds = events.stream().map(TicketEvent::getTicketId).distinct().toList();
+        Map<UUID, TicketSummary> tickets = ticketRepository.findSummariesByIdIn(ticketIds).stream()
+                .collect(Collectors.toMap(TicketSummary::getId, Function.identity()));
+        List<UUID> assigneeIds = events.stream()
+                .map(TicketEvent::getAfter)
+                .filter(after -> after != null && after.getAssigneeId() != null)
+                .map(TicketSnapshot::getAssigneeId)
+                .distinct()
+                .toList();
+        Map<UUID, UserContact> assignees = assigneeIds.isEmpty() ? Map.of()
+                : userRepository.findContactsByIdIn(assigneeIds).stream()
+                    .collect(Collectors.toMap(UserContact::getId, Function.identity()));
+
+        for (TicketEvent event : events) {
+            TicketSummary ticket = tickets.get(event.getTicketId());
+            if (ticket == null) {
+                continue; // deleted since
+            }
+            for (NotificationRules.Notice notice : NotificationRules.noticesFor(event, ticket, assignees)) {
+                outbox.computeIfAbsent(notice.email(),
+                        email -> new Digest(email, notice.username()))
+                    .add(notice.line());
+            }
+        }
+    }
+
+    private SimpleMailMessage toMessage(Digest digest) {
+        int updates = digest.getLines().size() + digest.getOmitted();
+        StringBuilder body = new StringBuilder()
+                .append("Hello ").append(digest.getUsername()).append(",\n\n")
+                .append("There ").append(updates == 1 ? "is 1 update" : "are " + updates + " updates")
+                .append(" on your tickets:\n\n");
+        digest.getLines().forEach(line -> body.append(" - ").append(line).append('\n'));
+        if (digest.getOmitted() > 0) {
+            body.append(" - ... and ").append(digest.getOmitted()).append(" more\n");
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(Objects.requireNonNull(digest.getEmail()));
+        message.setSubject("[IT Tickets] " + (updates == 1 ? "1 ticket update" : updates + " ticket updates"));
+        message.setText(body.toString());
+        return message;
+    }
+}
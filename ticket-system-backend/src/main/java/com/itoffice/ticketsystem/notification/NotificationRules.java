@@ -0,0 +1,103 @@
+package com.itoffice.ticketsystem.notification;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import com.itoffice.ticketsystem.repository.projection.UserContact;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Who hears about which ticket event, and what they are told
+ *
+ * - CREATED: the creator gets a receipt
+ * - UPDATED: a new assignee and the creator hear about the assignment;
+ *   creator and assignee hear about status changes
+ * - COMMENT_ADDED: creator and assignee
+ *
+ * Nobody is notified about their own change, except for the creation receipt.
+ * Updates are addressed to the assignee the event's after snapshot names, not
+ * the ticket's current one, since several may happen within one digest.
+ */
+final class NotificationRules {
+
+    record Notice(String email, String username, String line) {
+    }
+
+    private NotificationRules() {
+    }
+
+    static boolean isNotifiable(TicketEvent event) {
+        return switch (event.getType()) {
+            case CREATED, UPDATED, COMMENT_ADDED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * @param assignees contacts of the after-snapshot assignees, by id
+     */
+    static List<Notice> noticesFor(TicketEvent event, TicketSummary ticket, Map<UUID, UserContact> assignees) {
+        List<Notice> notices = new ArrayList<>();
+        String subject = "[" + ticket.getId().toString().substring(0, 8).toUpperCase() + "] "
+                + ticket.getTitle() + ": ";
+        String actor = event.getActor();
+
+        switch (event.getType()) {
+            case CREATED -> notices.add(new Notice(ticket.getCreatorEmail(),
+                ticket.getCreatorUsername(), subject + "created with " + ticket.getPriority() + " priority"));
+            case UPDATED -> {
+                TicketSnapshot before = event.getBefore();
+                TicketSnapshot after = event.getAfter();
+                if (before == null || after == null) {
+                    break;
+                }
+                UserContact assignee = after.getAssigneeId() != null
+                        ? assignees.get(after.getAssigneeId()) : null;
+                if (after.getAssigneeId() != null
+                        && !Objects.equals(before.getAssigneeId(), after.getAssigneeId())) {
+                    addUser(notices, assignee, actor, subject + "assigned to you by " + actor);
+                    addCreator(notices, ticket, actor,
+                        subject + "assigned to " + after.getAssigneeUsername() + " by " + actor);
+                }
+                if (before.getStatus() != after.getStatus()) {
+                    String line = subject + "status changed from " + before.getStatus()
+                            + " to " + after.getStatus() + " by " + actor;
+                    addCreator(notices, ticket, actor, line);
+                    addUser(notices, assignee, actor, line);
+                }
+            }
+            case COMMENT_ADDED -> {
+                String line = subject + "new comment by " + actor;
+                addCreator(notices, ticket, actor, line);
+                addAssignee(notices, ticket, actor, line);
+            }
+            default -> {
+            }
+        }
+        return notices;
+    }
+
+    private static void addCreator(List<Notice> notices, TicketSummary ticket, String actor, String line) {
+        if (!ticket.getCreatorUsername().equals(actor)) {
+            notices.add(new Notice(ticket.getCreatorEmail(), ticket.getCreatorUsername(), line));
+        }
+    }
+
+    // Null when the user was deleted since
+    private static void addUser(List<Notice> notices, UserContact user, String actor, String line) {
+        if (user != null && !user.getUsername().equals(actor)) {
+            notices.add(new Notice(user.getEmail(), user.getUsername(), line));
+        }
+    }
+
+    private static void addAssignee(List<Notice> notices, TicketSummary ticket, String actor, String line) {
+        if (ticket.getAssigneeId() != null && !ticket.getAssigneeUsername().equals(actor)) {
+            notices.add(new Notice(ticket.getAssigneeEmail(), ticket.getAssigneeUsername(), line));
+        }
+    }
+}
@@ -3,11 +3,17 @@ package com.itoffice.ticketsystem.repository;
 import com.itoffice.ticketsystem.model.Comment;
 import com.itoffice.ticketsystem.model.Ticket;
 import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.repository.projection.CommentCountRow;
+import com.itoffice.ticketsystem.repository.projection.CommentText;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
@@ -15,4 +21,16 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     List<Comment> findByTicketOrderByCreatedAtDesc(Ticket ticket);
     List<Comment> findByUser(User user);
     long countByTicket(Ticket ticket);
+
+    // Comment text for the in-memory search index
+    @Query("SELECT c.content FROM Comment c WHERE c.ticket.id = :ticketId")
+    List<String> findContentByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Query("SELECT c.ticket.id AS ticketId, c.content AS content FROM Comment c")
+    Stream<CommentText> streamAllContent();
+
+    // Tickets without comments are absent from the result
+    @Query("SELECT c.ticket.id AS ticketId, COUNT(c) AS commentCount FROM Comment c"
+            + " WHERE c.ticket.id IN :ticketIds GROUP BY c.ticket.id")
+    List<CommentCountRow> countByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
 }
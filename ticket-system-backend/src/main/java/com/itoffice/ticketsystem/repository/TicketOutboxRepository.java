@@ -0,0 +1,44 @@
+package com.itoffice.ticketsystem.repository;
+
+import com.itoffice.ticketsystem.model.TicketOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TicketOutboxRepository extends JpaRepository<TicketOutboxEvent, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: concurrent relays claim disjoint
+    // batches instead of queueing on each other's rows (plain FOR UPDATE on H2)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM TicketOutboxEvent e WHERE e.availableAt <= :now ORDER BY e.id")
+    List<TicketOutboxEvent> findAvailableForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE TicketOutboxEvent e SET e.availableAt = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE TicketOutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TicketOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TicketOutboxEvent e WHERE e.id IN :ids AND e.attempts >= :maxAttempts")
+    int deleteExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts);
+}
@@ -4,18 +4,64 @@ import com.itoffice.ticketsystem.model.Ticket;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.TicketPriority;
 import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.projection.SlaDeadline;
+import com.itoffice.ticketsystem.repository.projection.TicketCounterRow;
+import com.itoffice.ticketsystem.repository.projection.TicketSearchDocument;
+import com.itoffice.ticketsystem.repository.projection.TicketStatsRow;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+
+    // Shared select list for the listing projections: ticket columns, creator and
+    // assignee summaries and the comment count, all resolved in one statement
+    String SUMMARY_SELECT = "SELECT new com.itoffice.ticketsystem.repository.projection.TicketSummary("
+            + "t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, t.resolvedAt, t.dueAt, "
+            + "c.id, c.username, c.email, c.role, c.enabled, c.createdAt, "
+            + "a.id, a.username, a.email, a.role, a.enabled, a.createdAt, "
+            + "t.commentCount) "
+            + "FROM Ticket t JOIN t.createdBy c LEFT JOIN t.assignedTo a";
+
+    // Statuses whose SLA clock is still running. Written as literals (not a parameter)
+    // so PostgreSQL can match the predicate of the partial due_at indexes from V5
+    String SLA_ACTIVE = "t.status IN (com.itoffice.ticketsystem.model.enums.TicketStatus.OPEN,"
+            + " com.itoffice.ticketsystem.model.enums.TicketStatus.IN_PROGRESS)";
+
+    // Entity loads that are mapped to responses fetch creator and assignee in the
+    // same statement. Paged count queries are derived without the graph's joins
+    @Override
+    @EntityGraph(Ticket.WITH_USERS)
+    Optional<Ticket> findById(UUID id);
+
+    @Override
+    @EntityGraph(Ticket.WITH_USERS)
+    Page<Ticket> findAll(Pageable pageable);
+
+    // Bulk updates: every target row and its users in one IN query
+    @EntityGraph(Ticket.WITH_USERS)
+    List<Ticket> findByIdIn(Collection<UUID> ids);
+
     // Find by status
     List<Ticket> findByStatus(TicketStatus status);
     Page<Ticket> findByStatus(TicketStatus status, Pageable pageable);
@@ -25,7 +71,9 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     Page<Ticket> findByPriority(TicketPriority priority, Pageable pageable);
 
     // Find by user (creator)
+    @EntityGraph(Ticket.WITH_USERS)
     List<Ticket> findByCreatedBy(User user);
+    @EntityGraph(Ticket.WITH_USERS)
     Page<Ticket> findByCreatedBy(User user, Pageable pageable);
 
     // Find by assigned user
@@ -40,6 +88,183 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     List<Ticket> findByCreatedByAndStatus(@Param("user") User user, @Param("status") TicketStatus status);
 
     // Custom query: Search tickets by title or description
+    @EntityGraph(Ticket.WITH_USERS)
     @Query("SELECT t FROM Ticket t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Ticket> searchTickets(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    // Listing projections: one query per page plus a join-free count query
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(t) FROM Ticket t")
+    Page<TicketSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE t.createdBy.id = :userId",
+           countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.createdBy.id = :userId")
+    Page<TicketSummary> findSummariesByCreatorId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.id IN :ids")
+    List<TicketSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Keyset (seek) pagination, newest first. Slices skip the count query and the
+    // (created_at, id) predicate is served by an index range scan instead of OFFSET
+    @Query(SUMMARY_SELECT + " ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findFirstSummariesByKeyset(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByKeyset(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.createdBy.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findFirstSummariesByCreatorIdKeyset(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.createdBy.id = :userId"
+            + " AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByCreatorIdKeyset(@Param("userId") UUID userId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") UUID id,
+                                                        Pageable pageable);
+
+    // Search engines: rank and page ids only, rows are hydrated via findSummariesByIdIn.
+    // A null ownerId searches all tickets, otherwise only that user's tickets
+    @Query(value = "SELECT t.id FROM Ticket t"
+            + " WHERE (LOWER(t.title) LIKE :pattern ESCAPE '\\' OR LOWER(t.description) LIKE :pattern ESCAPE '\\')"
+            + " AND (:ownerId IS NULL OR t.createdBy.id = :ownerId)"
+            + " ORDER BY CASE WHEN LOWER(t.title) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM Ticket t"
+            + " WHERE (LOWER(t.title) LIKE :pattern ESCAPE '\\' OR LOWER(t.description) LIKE :pattern ESCAPE '\\')"
+            + " AND (:ownerId IS NULL OR t.createdBy.id = :ownerId)")
+    Page<UUID> searchIdsByPattern(@Param("pattern") String pattern,
+                                  @Param("ownerId") UUID ownerId,
+                                  Pageable pageable);
+
+    // PostgreSQL only: relies on pg_trgm and the GIN indexes from migration V2
+    @Query(value = "SELECT t.id FROM tickets t"
+            + " WHERE (t.title ILIKE CONCAT('%', :pattern, '%')"
+            + " OR t.description ILIKE CONCAT('%', :pattern, '%')"
+            + " OR t.title % :term)"
+            + " AND (CAST(:ownerId AS uuid) IS NULL OR t.created_by_id = CAST(:ownerId AS uuid))"
+            + " ORDER BY GREATEST(similarity(t.title, :term),"
+            + " word_similarity(:term, t.title),"
+            + " 0.8 * word_similarity(:term, COALESCE(t.description, ''))) DESC,"
+            + " t.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM tickets t"
+            + " WHERE (t.title ILIKE CONCAT('%', :pattern, '%')"
+            + " OR t.description ILIKE CONCAT('%', :pattern, '%')"
+            + " OR t.title % :term)"
+            + " AND (CAST(:ownerId AS uuid) IS NULL OR t.created_by_id = CAST(:ownerId AS uuid))",
+           nativeQuery = true)
+    Page<UUID> searchIdsByTrigram(@Param("term") String term,
+                                  @Param("pattern") String pattern,
+                                  @Param("ownerId") UUID ownerId,
+                                  Pageable pageable);
+
+    // Rows per round trip while streaming an export
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Full export, oldest first. Read through a JDBC cursor EXPORT_FETCH_SIZE rows at a
+    // time (PostgreSQL only uses a server-side cursor inside a transaction); read-only,
+    // so no dirty-checking snapshot is kept. A null creatorId exports all tickets
+    @EntityGraph(Ticket.WITH_USERS)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t WHERE (:creatorId IS NULL OR t.createdBy.id = :creatorId)"
+            + " ORDER BY t.createdAt ASC, t.id ASC")
+    Stream<Ticket> streamForExport(@Param("creatorId") UUID creatorId);
+
+    // Search index bootstrap and incremental refresh
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description,"
+            + " t.createdBy.id AS createdById, t.createdAt AS createdAt FROM Ticket t")
+    Stream<TicketSearchDocument> streamSearchDocuments();
+
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description,"
+            + " t.createdBy.id AS createdById, t.createdAt AS createdAt FROM Ticket t WHERE t.id = :id")
+    Optional<TicketSearchDocument> findSearchDocumentById(@Param("id") UUID id);
+
+    // Live stream: owner of a ticket for events that carry no snapshot
+    @Query("SELECT t.createdBy.id FROM Ticket t WHERE t.id = :id")
+    Optional<UUID> findCreatorIdById(@Param("id") UUID id);
+
+    // Atomic comment counter maintenance (no read-modify-write in the JVM)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.commentCount = t.commentCount + 1 WHERE t.id = :id")
+    int incrementCommentCount(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.commentCount = t.commentCount - 1 WHERE t.id = :id AND t.commentCount > 0")
+    int decrementCommentCount(@Param("id") UUID id);
+
+    // Comment count repair: walk ticket ids in keyed batches (a null id starts at the
+    // beginning), lock each batch before counting, then rewrite only drifted rows
+    @Query("SELECT t.id FROM Ticket t WHERE (:afterId IS NULL OR t.id > :afterId) ORDER BY t.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids")
+    List<Ticket> lockByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.commentCount = :commentCount WHERE t.id = :id")
+    int updateCommentCount(@Param("id") UUID id, @Param("commentCount") long commentCount);
+
+    @Query("SELECT t.status AS status, t.priority AS priority,"
+            + " a.id AS assigneeId, a.username AS assigneeUsername, COUNT(t) AS ticketCount"
+            + " FROM Ticket t LEFT JOIN t.assignedTo a"
+            + " WHERE (:creatorId IS NULL OR t.createdBy.id = :creatorId)"
+            + " GROUP BY t.status, t.priority, a.id, a.username")
+    List<TicketStatsRow> countByStatusPriorityAndAssignee(@Param("creatorId") UUID creatorId);
+
+    // Counter matrix: the cell each ticket is counted in, at build and per event
+    @Query("SELECT t.id AS id, t.createdBy.id AS creatorId, t.status AS status, t.priority AS priority,"
+            + " a.id AS assigneeId, a.username AS assigneeUsername"
+            + " FROM Ticket t LEFT JOIN t.assignedTo a")
+    Stream<TicketCounterRow> streamCounterRows();
+
+    @Query("SELECT t.id AS id, t.createdBy.id AS creatorId, t.status AS status, t.priority AS priority,"
+            + " a.id AS assigneeId, a.username AS assigneeUsername"
+            + " FROM Ticket t LEFT JOIN t.assignedTo a WHERE t.id = :id")
+    Optional<TicketCounterRow> findCounterRowById(@Param("id") UUID id);
+
+    // SLA listings: index range scans on due_at. A null creatorId covers all tickets
+    @Query(value = SUMMARY_SELECT + " WHERE " + SLA_ACTIVE + " AND t.dueAt < :now"
+            + " AND (:creatorId IS NULL OR t.createdBy.id = :creatorId)"
+            + " ORDER BY t.dueAt ASC, t.id ASC",
+           countQuery = "SELECT COUNT(t) FROM Ticket t WHERE " + SLA_ACTIVE + " AND t.dueAt < :now"
+            + " AND (:creatorId IS NULL OR t.createdBy.id = :creatorId)")
+    Page<TicketSummary> findSlaBreachedSummaries(@Param("now") LocalDateTime now,
+                                                 @Param("creatorId") UUID creatorId,
+                                                 Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE " + SLA_ACTIVE + " AND t.dueAt >= :now AND t.dueAt < :until"
+            + " AND (:creatorId IS NULL OR t.createdBy.id = :creatorId)"
+            + " ORDER BY t.dueAt ASC, t.id ASC",
+           countQuery = "SELECT COUNT(t) FROM Ticket t WHERE " + SLA_ACTIVE
+            + " AND t.dueAt >= :now AND t.dueAt < :until"
+            + " AND (:creatorId IS NULL OR t.createdBy.id = :creatorId)")
+    Page<TicketSummary> findSlaAtRiskSummaries(@Param("now") LocalDateTime now,
+                                               @Param("until") LocalDateTime until,
+                                               @Param("creatorId") UUID creatorId,
+                                               Pageable pageable);
+
+    // Breach scanner: deadlines that passed and were not reported yet, oldest first
+    @Query("SELECT t.id FROM Ticket t WHERE " + SLA_ACTIVE
+            + " AND t.slaBreachedAt IS NULL AND t.dueAt <= :now ORDER BY t.dueAt ASC")
+    List<UUID> findUnreportedSlaBreachIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids AND " + SLA_ACTIVE
+            + " AND t.slaBreachedAt IS NULL AND t.dueAt <= :now")
+    List<UUID> findUnreportedSlaBreachIdsIn(@Param("ids") Collection<UUID> ids,
+                                            @Param("now") LocalDateTime now);
+
+    // SLA timer wheel bootstrap: every deadline still to be reported
+    @Query("SELECT t.id AS id, t.dueAt AS dueAt FROM Ticket t WHERE " + SLA_ACTIVE
+            + " AND t.slaBreachedAt IS NULL AND t.dueAt IS NOT NULL")
+    Stream<SlaDeadline> streamPendingSlaDeadlines();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.slaBreachedAt = :now WHERE t.id IN :ids AND t.slaBreachedAt IS NULL")
+    int markSlaBreached(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 }
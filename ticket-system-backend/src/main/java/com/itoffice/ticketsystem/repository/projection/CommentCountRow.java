@@ -0,0 +1,11 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Number of comment rows per ticket, used to repair tickets.comment_count
+ */
+public interface CommentCountRow {
+    UUID getTicketId();
+    long getCommentCount();
+}
@@ -0,0 +1,11 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Comment body keyed by ticket, loaded by the in-memory search index
+ */
+public interface CommentText {
+    UUID getTicketId();
+    String getContent();
+}
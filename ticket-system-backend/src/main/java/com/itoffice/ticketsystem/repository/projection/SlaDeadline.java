@@ -0,0 +1,12 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pending SLA deadline of an open ticket, loaded by the SLA timer wheel
+ */
+public interface SlaDeadline {
+    UUID getId();
+    LocalDateTime getDueAt();
+}
@@ -0,0 +1,19 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+
+import java.util.UUID;
+
+/**
+ * The (creator, status, priority, assignee) cell one ticket is counted in,
+ * used to (re)build and update the in-memory counter matrix
+ */
+public interface TicketCounterRow {
+    UUID getId();
+    UUID getCreatorId();
+    TicketStatus getStatus();
+    TicketPriority getPriority();
+    UUID getAssigneeId();
+    String getAssigneeUsername();
+}
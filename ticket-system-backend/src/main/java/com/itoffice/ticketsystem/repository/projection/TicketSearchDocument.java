@@ -0,0 +1,15 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Searchable fields of a ticket, loaded by the in-memory search index
+ */
+public interface TicketSearchDocument {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    UUID getCreatedById();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,17 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+
+import java.util.UUID;
+
+/**
+ * One (status, priority, assignee) group of the dashboard statistics query
+ */
+public interface TicketStatsRow {
+    TicketStatus getStatus();
+    TicketPriority getPriority();
+    UUID getAssigneeId();
+    String getAssigneeUsername();
+    long getTicketCount();
+}
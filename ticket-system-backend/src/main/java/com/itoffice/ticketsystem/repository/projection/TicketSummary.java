@@ -0,0 +1,49 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, read-only view of a ticket used by the listing queries
+ *
+ * Carries the ticket columns, creator and assignee summaries and the
+ * comment count, so a whole page can be mapped to responses from the
+ * result of a single SELECT without touching lazy associations.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketSummary {
+
+    private UUID id;
+    private String title;
+    private String description;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime resolvedAt;
+    private LocalDateTime dueAt;
+
+    private UUID creatorId;
+    private String creatorUsername;
+    private String creatorEmail;
+    private Role creatorRole;
+    private Boolean creatorEnabled;
+    private LocalDateTime creatorCreatedAt;
+
+    // Assignee columns are null when the ticket is unassigned
+    private UUID assigneeId;
+    private String assigneeUsername;
+    private String assigneeEmail;
+    private Role assigneeRole;
+    private Boolean assigneeEnabled;
+    private LocalDateTime assigneeCreatedAt;
+
+    private Long commentCount;
+}
@@ -0,0 +1,12 @@
+package com.itoffice.ticketsystem.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Address of a user, loaded by the email notification digest
+ */
+public interface UserContact {
+    UUID getId();
+    String getUsername();
+    String getEmail();
+}
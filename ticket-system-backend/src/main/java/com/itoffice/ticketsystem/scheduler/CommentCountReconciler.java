@@ -0,0 +1,106 @@
+package com.itoffice.ticketsystem.scheduler;
+
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.CommentCountRow;
+import com.itoffice.ticketsystem.service.TicketDetailCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Repairs drift in the denormalized tickets.comment_count column
+ *
+ * Comment counts are maintained incrementally by CommentService. Rows written
+ * outside the application (imports, manual fixes) can still drift, so tickets
+ * are periodically walked in id order, batch-size at a time. Each batch runs
+ * in its own short transaction that first locks the ticket rows, then counts
+ * their comments and rewrites only the counts that are wrong. CommentService
+ * changes a count under the same row lock, so a comment committed while a
+ * batch is being repaired is either already counted or increments the
+ * repaired value afterwards; it is never overwritten.
+ */
+@Slf4j
+@Component
+public class CommentCountReconciler {
+
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final TicketDetailCache ticketDetailCache;
+    private final TransactionTemplate transaction;
+    private final boolean reconcileOnStartup;
+    private final int batchSize;
+
+    public CommentCountReconciler(TicketRepository ticketRepository,
+                                  CommentRepository commentRepository,
+                                  TicketDetailCache ticketDetailCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.ticket.comment-count.reconcile-on-startup:false}") boolean reconcileOnStartup,
+                                  @Value("${app.ticket.comment-count.reconcile-batch-size:500}") int batchSize) {
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.ticketDetailCache = ticketDetailCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.reconcileOnStartup = reconcileOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * @return number of tickets whose count was repaired
+     */
+    @Scheduled(cron = "${app.ticket.comment-count.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        int repaired = 0;
+        UUID afterId = null;
+        List<UUID> ids;
+        do {
+            ids = ticketRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                List<UUID> batch = ids;
+                repaired += transaction.execute(status -> repairBatch(batch));
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+
+        if (repaired > 0) {
+            log.warn("Repaired comment_count on {} ticket(s)", repaired);
+        }
+        return repaired;
+    }
+
+    private int repairBatch(List<UUID> ids) {
+        List<Ticket> tickets = ticketRepository.lockByIdIn(ids);
+        Map<UUID, Long> counts = commentRepository.countByTicketIdIn(ids).stream()
+                .collect(Collectors.toMap(CommentCountRow::getTicketId, CommentCountRow::getCommentCount));
+
+        int repaired = 0;
+        for (Ticket ticket : tickets) {
+            long actual = counts.getOrDefault(ticket.getId(), 0L);
+            if (ticket.getCommentCount() != actual) {
+                ticketRepository.updateCommentCount(ticket.getId(), actual);
+                ticketDetailCache.evict(ticket.getId());
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+}
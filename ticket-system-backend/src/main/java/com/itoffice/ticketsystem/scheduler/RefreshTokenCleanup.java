@@ -0,0 +1,34 @@
+package com.itoffice.ticketsystem.scheduler;
+
+import com.itoffice.ticketsystem.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Purges refresh tokens past their expiry
+ *
+ * Rotated tokens are kept until they expire so replays can still be
+ * detected; after that they carry no information and are deleted in bulk.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleanup {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 0 4 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh token(s)", purged);
+        }
+        return purged;
+    }
+}
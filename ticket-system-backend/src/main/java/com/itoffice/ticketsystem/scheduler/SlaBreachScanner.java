@@ -0,0 +1,85 @@
+package com.itoffice.ticketsystem.scheduler;
+
+import com.itoffice.ticketsystem.event.TicketEventPublisher;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reports tickets whose SLA deadline has passed
+ *
+ * Each run is a range scan over the partial due_at index of unreported open
+ * tickets, so its cost tracks the number of new breaches rather than the size
+ * of the tickets table. Breaches are stamped with sla_breached_at and
+ * published once as {@link TicketEventType#SLA_BREACHED}.
+ *
+ * With the SLA timer wheel enabled breaches are normally reported the second
+ * they happen, through {@link #report}; the scan then only catches what the
+ * wheel missed (another instance's writes, a full wheel, downtime).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlaBreachScanner {
+
+    private final TicketRepository ticketRepository;
+    private final TicketEventPublisher ticketEventPublisher;
+
+    @Value("${app.ticket.sla.scan-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${app.ticket.sla.scan-interval-ms:300000}",
+               fixedDelayString = "${app.ticket.sla.scan-interval-ms:300000}")
+    @Transactional
+    public int scan() {
+        LocalDateTime now = LocalDateTime.now();
+        int reported = 0;
+        List<UUID> batch;
+        do {
+            // Stamped rows drop out of the range, so the next batch is again the first page
+            batch = ticketRepository.findUnreportedSlaBreachIds(now, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            reported += stamp(batch, now);
+        } while (batch.size() == batchSize);
+
+        if (reported > 0) {
+            log.warn("{} ticket(s) breached their SLA", reported);
+        }
+        return reported;
+    }
+
+    /**
+     * Report the given tickets if they are still open, due and unreported
+     */
+    @Transactional
+    public int report(Collection<UUID> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return stamp(ticketRepository.findUnreportedSlaBreachIdsIn(ticketIds, now), now);
+    }
+
+    private int stamp(List<UUID> ticketIds, LocalDateTime now) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        ticketRepository.markSlaBreached(ticketIds, now);
+        ticketIds.forEach(id -> ticketEventPublisher.publish(
+            TicketEventType.SLA_BREACHED, id, "system"));
+        return ticketIds.size();
+    }
+}
@@ -0,0 +1,368 @@
+package com.itoffice.ticketsystem.search;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketSearchDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * In-JVM inverted index over ticket title, description and comment text
+ *
+ * For deployments without PostgreSQL extensions. Built once at startup from the
+ * repositories and kept current by after-commit {@link TicketEvent}s, so searches
+ * never touch the database. Every query token must match (as a prefix of) some
+ * indexed term; tickets whose title matches more tokens rank first, then newest.
+ *
+ * Documents and terms are addressed by dense int ids and postings are primitive
+ * int lists. A term whose postings empty out is dropped and its id reused, so the
+ * dictionary tracks the live text rather than every word ever indexed. Reads
+ * share a read lock; index updates take the write lock briefly. Reloads of the
+ * same ticket are serialized (load included), so the last one applied always
+ * read the latest committed state.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryTicketSearchEngine implements TicketSearchEngine {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Striped by ticket id; held across the database load in reindex and remove
+    private final ReentrantLock[] ticketLocks = IntStream.range(0, 64)
+            .mapToObj(i -> new ReentrantLock())
+            .toArray(ReentrantLock[]::new);
+
+    // Term dictionary (sorted for prefix lookups) and per-field postings by term id;
+    // freed term ids are reused
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntPostingList> titlePostings = new ArrayList<>();
+    private final List<IntPostingList> bodyPostings = new ArrayList<>();
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+
+    // Document table addressed by int doc id; freed slots are reused
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final List<IndexedTicket> docs = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            Map<UUID, StringBuilder> commentText = new HashMap<>();
+            commentRepository.streamAllContent().forEach(comment ->
+                commentText.computeIfAbsent(comment.getTicketId(), id -> new StringBuilder())
+                    .append(' ').append(comment.getContent()));
+
+            ticketRepository.streamSearchDocuments().forEach(document -> {
+                StringBuilder comments = commentText.get(document.getId());
+                index(document, comments != null ? comments.toString() : "");
+            });
+            log.info("Built in-memory ticket search index: {} tickets, {} terms in {} ms",
+                docIds.size(), termIds.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        if (event.getType() == TicketEventType.DELETED) {
+            remove(event.getTicketId());
+        } else if (event.getType() != TicketEventType.SLA_BREACHED) {
+            reindex(event.getTicketId());
+        }
+    }
+
+    /**
+     * Reload one ticket and its comments from the database and replace its postings
+     */
+    public void reindex(UUID ticketId) {
+        ReentrantLock ticketLock = ticketLock(ticketId);
+        ticketLock.lock();
+        try {
+            TicketSearchDocument document = ticketRepository
+                .findSearchDocumentById(ticketId).orElse(null);
+            if (document == null) {
+                remove(ticketId);
+                return;
+            }
+            String comments = String.join(" ",
+                commentRepository.findContentByTicketId(ticketId));
+
+            lock.writeLock().lock();
+            try {
+                unindex(ticketId);
+                index(document, comments);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            ticketLock.unlock();
+        }
+    }
+
+    public void remove(UUID ticketId) {
+        ReentrantLock ticketLock = ticketLock(ticketId);
+        ticketLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                unindex(ticketId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            ticketLock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<UUID> search(String query, UUID ownerId, Pageable pageable) {
+        Set<String> tokens = tokenize(query);
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            List<BitSet> titleMatchesPerToken = new ArrayList<>(tokens.size());
+
+            for (String token : tokens) {
+                BitSet anyField = new BitSet();
+                BitSet titleField = new BitSet();
+                for (int termId : termIds.subMap(token, true,
+                        token + Character.MAX_VALUE, true).values()) {
+                    titlePostings.get(termId).addTo(titleField);
+                    bodyPostings.get(termId).addTo(anyField);
+                }
+                anyField.or(titleField);
+
+                if (matches == null) {
+                    matches = anyField;
+                } else {
+                    matches.and(anyField);
+                }
+                titleMatchesPerToken.add(titleField);
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<ScoredTicket> hits = new ArrayList<>();
+            if (matches == null) {
+                // Blank query matches every visible ticket, like the SQL engines
+                for (IndexedTicket doc : docs) {
+                    if (doc != null && isVisible(doc, ownerId)) {
+                        hits.add(new ScoredTicket(doc, 0));
+                    }
+                }
+            } else {
+                for (int docId = matches.nextSetBit(0); docId >= 0;
+                        docId = matches.nextSetBit(docId + 1)) {
+                    IndexedTicket doc = docs.get(docId);
+                    if (!isVisible(doc, ownerId)) {
+                        continue;
+                    }
+                    int score = 0;
+                    for (BitSet titleMatches : titleMatchesPerToken) {
+                        if (titleMatches.get(docId)) {
+                            score++;
+                        }
+                    }
+                    hits.add(new ScoredTicket(doc, score));
+                }
+            }
+
+            hits.sort(Comparator.comparingInt(ScoredTicket::score).reversed()
+                .thenComparing(hit -> hit.ticket().createdAt(), Comparator.reverseOrder()));
+
+            int from = (int) Math.min(pageable.getOffset(), hits.size());
+            int to = Math.min(from + pageable.getPageSize(), hits.size());
+            List<UUID> page = hits.subList(from, to).stream()
+                .map(hit -> hit.ticket().id())
+                .toList();
+            return new PageImpl<>(page, pageable, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isVisible(IndexedTicket doc, UUID ownerId) {
+        return ownerId == null || ownerId.equals(doc.ownerId());
+    }
+
+    private ReentrantLock ticketLock(UUID ticketId) {
+        return ticketLocks[Math.floorMod(ticketId.hashCode(), ticketLocks.length)];
+    }
+
+    // Callers must hold the write lock for the mutators below
+
+    private void index(TicketSearchDocument document, String comments) {
+        int docId = freeDocIds.isEmpty() ? docs.size() : freeDocIds.pop();
+
+        int[] titleTerms = addPostings(tokenize(document.getTitle()), titlePostings, docId);
+        Set<String> bodyTokens = tokenize(document.getDescription());
+        bodyTokens.addAll(tokenize(comments));
+        int[] bodyTerms = addPostings(bodyTokens, bodyPostings, docId);
+
+        long createdAt = document.getCreatedAt() != null ?
+            document.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+        IndexedTicket doc = new IndexedTicket(document.getId(),
+            document.getCreatedById(), createdAt, titleTerms, bodyTerms);
+
+        if (docId == docs.size()) {
+            docs.add(doc);
+        } else {
+            docs.set(docId, doc);
+        }
+        docIds.put(document.getId(), docId);
+    }
+
+    private void unindex(UUID ticketId) {
+        Integer docId = docIds.remove(ticketId);
+        if (docId == null) {
+            return;
+        }
+        IndexedTicket doc = docs.get(docId);
+        for (int termId : doc.titleTerms()) {
+            titlePostings.get(termId).remove(docId);
+        }
+        for (int termId : doc.bodyTerms()) {
+            bodyPostings.get(termId).remove(docId);
+        }
+        for (int termId : doc.titleTerms()) {
+            releaseIfUnused(termId);
+        }
+        for (int termId : doc.bodyTerms()) {
+            releaseIfUnused(termId);
+        }
+        docs.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    // A term in both fields of the ticket is seen twice; the null check makes that a no-op
+    private void releaseIfUnused(int termId) {
+        String term = terms.get(termId);
+        if (term != null && titlePostings.get(termId).isEmpty()
+                && bodyPostings.get(termId).isEmpty()) {
+            termIds.remove(term);
+            terms.set(termId, null);
+            freeTermIds.push(termId);
+        }
+    }
+
+    private int[] addPostings(Collection<String> tokens,
+                              List<IntPostingList> postings, int docId) {
+        int[] terms = new int[tokens.size()];
+        int i = 0;
+        for (String token : tokens) {
+            int termId = termIds.computeIfAbsent(token, this::newTermId);
+            postings.get(termId).add(docId);
+            terms[i++] = termId;
+        }
+        return terms;
+    }
+
+    // Released term ids keep their (empty) posting lists for reuse
+    private int newTermId(String term) {
+        if (!freeTermIds.isEmpty()) {
+            int termId = freeTermIds.pop();
+            terms.set(termId, term);
+            return termId;
+        }
+        terms.add(term);
+        titlePostings.add(new IntPostingList());
+        bodyPostings.add(new IntPostingList());
+        return terms.size() - 1;
+    }
+
+    private void clear() {
+        termIds.clear();
+        terms.clear();
+        freeTermIds.clear();
+        titlePostings.clear();
+        bodyPostings.clear();
+        docIds.clear();
+        docs.clear();
+        freeDocIds.clear();
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedTicket(UUID id, UUID ownerId, long createdAt,
+                                 int[] titleTerms, int[] bodyTerms) {
+    }
+
+    private record ScoredTicket(IndexedTicket ticket, int score) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.itoffice.ticketsystem.search;
+
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Portable search engine using case-insensitive LIKE
+ *
+ * Works on any database (including the H2 test database) but cannot use a
+ * B-tree index, so it scans the table. Title matches rank above matches that
+ * only occur in the description.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeTicketSearchEngine implements TicketSearchEngine {
+
+    private final TicketRepository ticketRepository;
+
+    @Override
+    public Page<UUID> search(String query, UUID ownerId, Pageable pageable) {
+        String pattern = "%" + TicketSearchEngine.escapeLike(
+            query.trim().toLowerCase(Locale.ROOT)) + "%";
+        return ticketRepository.searchIdsByPattern(pattern, ownerId,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+}
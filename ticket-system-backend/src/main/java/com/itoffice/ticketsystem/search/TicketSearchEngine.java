@@ -0,0 +1,34 @@
+package com.itoffice.ticketsystem.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Backend that resolves a free-text query to ticket ids ordered by relevance
+ *
+ * Engines only rank and page ids; TicketService hydrates the rows with a single
+ * projection query. The active engine is chosen with {@code app.search.engine}.
+ */
+public interface TicketSearchEngine {
+
+    /**
+     * Find tickets matching the query, most relevant first
+     *
+     * @param query    raw user input
+     * @param ownerId  restrict matches to tickets created by this user, or null for all
+     * @param pageable page to return; any sort on it is ignored in favour of relevance
+     * @return ids of matching tickets with the total match count
+     */
+    Page<UUID> search(String query, UUID ownerId, Pageable pageable);
+
+    /**
+     * Escape LIKE wildcards in user input so they match literally
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
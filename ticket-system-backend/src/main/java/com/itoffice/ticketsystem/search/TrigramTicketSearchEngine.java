@@ -0,0 +1,33 @@
+package com.itoffice.ticketsystem.search;
+
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * PostgreSQL search engine backed by pg_trgm
+ *
+ * Substring and fuzzy title matches are served by the GIN trigram indexes from
+ * migration V2 and ranked by trigram similarity. Requires the pg_trgm extension.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "trigram")
+@RequiredArgsConstructor
+public class TrigramTicketSearchEngine implements TicketSearchEngine {
+
+    private final TicketRepository ticketRepository;
+
+    @Override
+    public Page<UUID> search(String query, UUID ownerId, Pageable pageable) {
+        String term = query.trim();
+        return ticketRepository.searchIdsByTrigram(term,
+            TicketSearchEngine.escapeLike(term), ownerId,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+}
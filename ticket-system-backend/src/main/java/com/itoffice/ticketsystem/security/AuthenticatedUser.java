@@ -0,0 +1,65 @@
+package com.itoffice.ticketsystem.security;
+
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lightweight principal stored in the SecurityContext for JWT-authenticated requests
+ *
+ * Carries just what authorization needs (id, role, enabled flag, token version),
+ * so services can check ownership and roles without looking the user up again.
+ * It never holds the password hash.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String username;
+    private final Role role;
+    private final boolean enabled;
+    private final int tokenVersion;
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(),
+            user.getRole(), user.isEnabled(), user.getTokenVersion());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
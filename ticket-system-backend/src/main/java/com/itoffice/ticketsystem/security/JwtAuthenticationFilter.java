@@ -7,19 +7,20 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,14 +40,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtUtil.extractUsername(jwt);
+            // Single verification per request; repeat tokens hit the verified-token cache
+            VerifiedToken verifiedToken = jwtUtil.verify(jwt);
+            username = verifiedToken.getSubject();
 
             if (username != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                AuthenticatedUser userDetails = resolvePrincipal(verifiedToken);
 
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtUtil.isTokenValid(verifiedToken, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -65,4 +68,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Identity claims are trusted as long as the token version is still the
+     * user's current one (role changes and disabling bump it). Tokens issued
+     * without claims fall back to the cached user row.
+     */
+    private AuthenticatedUser resolvePrincipal(VerifiedToken verifiedToken) {
+        Optional<AuthenticatedUser> fromClaims = jwtUtil.toPrincipal(verifiedToken);
+        if (fromClaims.isPresent()) {
+            AuthenticatedUser principal = fromClaims.get();
+            return tokenVersions.isCurrent(principal.getId(), principal.getTokenVersion())
+                    ? principal
+                    : null;
+        }
+        return principalCache.find(verifiedToken.getSubject())
+                .filter(AuthenticatedUser::isEnabled)
+                .orElse(null);
+    }
 }
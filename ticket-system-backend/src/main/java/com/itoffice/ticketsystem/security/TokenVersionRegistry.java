@@ -0,0 +1,98 @@
+package com.itoffice.ticketsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-memory table of the current token version per user
+ *
+ * A JWT is only accepted while the version it was issued with matches the
+ * user's current one. Versions are loaded lazily (one small query per user)
+ * and pushed eagerly by UserService when it bumps them; the TTL bounds how
+ * long another instance's bump can go unnoticed.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry implements MeterBinder {
+
+    // Marks a user that no longer exists, so repeat tokens skip the query
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+
+    @Value("${app.jwt.token-version.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.jwt.token-version.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<UUID, Integer> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, versions, "jwt.token-versions");
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        int current = versions.get(userId, id ->
+            userRepository.findTokenVersionById(id).orElse(REVOKED));
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    /**
+     * Publish a bumped version once the transaction that wrote it commits;
+     * until then the committed (old) version keeps being served
+     */
+    public void update(UUID userId, int tokenVersion) {
+        versions.invalidate(userId);
+        afterCommit(() -> versions.put(userId, tokenVersion));
+    }
+
+    /**
+     * Mark a deleted user once the delete commits; a rolled-back delete leaves
+     * the user's tokens working
+     */
+    public void revoke(UUID userId) {
+        afterCommit(() -> versions.put(userId, REVOKED));
+    }
+
+    public void clear() {
+        versions.invalidateAll();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+        } else {
+            action.run();
+        }
+    }
+}
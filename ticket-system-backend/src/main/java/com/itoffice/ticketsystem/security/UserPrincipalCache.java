@@ -0,0 +1,112 @@
+package com.itoffice.ticketsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache of {@link AuthenticatedUser} principals keyed by username
+ *
+ * Saves the users-table round trip the JWT filter would otherwise make on every
+ * request. UserService evicts entries eagerly when a role, enabled flag or the
+ * user itself changes; the TTL is only a backstop for changes made outside it.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.principal-cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<String, AuthenticatedUser> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principals, "security.principals");
+    }
+
+    /**
+     * Look up a principal, loading it from the database on a miss
+     */
+    public Optional<AuthenticatedUser> find(String username) {
+        return Optional.ofNullable(principals.get(username, key ->
+            userRepository.findByUsername(key)
+                .map(AuthenticatedUser::from)
+                .orElse(null)));
+    }
+
+    /**
+     * Resolve the caller for a service method: the principal already placed in
+     * the SecurityContext by the JWT filter if it matches, otherwise the cache
+     */
+    public Optional<AuthenticatedUser> resolve(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.getUsername().equals(username)) {
+            return Optional.of(principal);
+        }
+        return find(username);
+    }
+
+    /**
+     * Evict a user now and again once the current transaction commits, so a
+     * concurrent request cannot re-cache the pre-change row in between
+     */
+    public void evict(String username) {
+        principals.invalidate(username);
+        afterCommit(() -> principals.invalidate(username));
+    }
+
+    public void evictById(UUID userId) {
+        Runnable eviction = () -> principals.asMap().values()
+            .removeIf(principal -> principal.getId().equals(userId));
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.itoffice.ticketsystem.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Immutable result of verifying a JWT once
+ *
+ * Holds everything callers need from the token, so the signature is checked
+ * and the payload parsed a single time per token rather than once per claim.
+ * The parsed claims are immutable, so they are shared rather than copied.
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final Claims claims;
+
+    public VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, Claims claims) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.claims = claims;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+}
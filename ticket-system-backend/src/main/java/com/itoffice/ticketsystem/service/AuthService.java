@@ -1,16 +1,21 @@
 package com.itoffice.ticketsystem.service;
 
 import com.itoffice.ticketsystem.dto.request.LoginRequest;
+import com.itoffice.ticketsystem.dto.request.RefreshTokenRequest;
 import com.itoffice.ticketsystem.dto.request.RegisterRequest;
 import com.itoffice.ticketsystem.dto.response.AuthResponse;
 import com.itoffice.ticketsystem.dto.response.UserResponse;
+import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
+import com.itoffice.ticketsystem.exception.TooManyRequestsException;
+import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
 import com.itoffice.ticketsystem.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,33 +25,61 @@ public class AuthService {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthResponse register(RegisterRequest request) {
         UserResponse userResponse = userService.createUser(
             request, Role.ROLE_USER);
 
-        UserDetails userDetails = userDetailsService
-            .loadUserByUsername(request.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
+        User user = loadUser(request.getUsername());
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        String refreshToken = refreshTokenService.issue(user);
 
-        return new AuthResponse(token, userResponse);
+        return new AuthResponse(token, refreshToken, userResponse);
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
-
-        UserDetails userDetails = userDetailsService
-            .loadUserByUsername(request.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
-        UserResponse userResponse = userService
-            .getUserByUsername(request.getUsername());
-
-        return new AuthResponse(token, userResponse);
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(),
+                            request.getPassword()
+                    )
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps failures while looking the user up, including a
+            // saturated password encoder on its unknown-username path: keep the 429
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            throw e;
+        }
+
+        User user = loadUser(request.getUsername());
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        String refreshToken = refreshTokenService.issue(user);
+        UserResponse userResponse = userService.mapToUserResponse(user);
+
+        return new AuthResponse(token, refreshToken, userResponse);
+    }
+
+    /**
+     * Renew a session from a refresh token without re-checking the password
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation =
+            refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.getUser();
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+
+        return new AuthResponse(token, rotation.getRefreshToken(),
+            userService.mapToUserResponse(user));
+    }
+
+    private User loadUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "User", "username", username));
     }
 }
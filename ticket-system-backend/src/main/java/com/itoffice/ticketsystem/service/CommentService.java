@@ -2,6 +2,8 @@ package com.itoffice.ticketsystem.service;
 
 import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
 import com.itoffice.ticketsystem.dto.response.CommentResponse;
+import com.itoffice.ticketsystem.event.TicketEventPublisher;
+import com.itoffice.ticketsystem.event.TicketEventType;
 import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
 import com.itoffice.ticketsystem.exception.UnauthorizedException;
 import com.itoffice.ticketsystem.model.Comment;
@@ -11,6 +13,8 @@ import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.repository.CommentRepository;
 import com.itoffice.ticketsystem.repository.TicketRepository;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +32,9 @@ public class CommentService {
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final TicketEventPublisher ticketEventPublisher;
+    private final UserPrincipalCache principalCache;
+    private final TicketDetailCache ticketDetailCache;
 
     public List<CommentResponse> getCommentsByTicket(UUID ticketId) {
         Ticket ticket = ticketRepository.findById(ticketId)
@@ -58,7 +65,13 @@ public class CommentService {
                 .content(request.getContent())
                 .build();
 
-        return mapToCommentResponse(commentRepository.save(comment));
+        Comment savedComment = commentRepository.save(comment);
+        ticketRepository.incrementCommentCount(ticketId);
+        ticketDetailCache.evict(ticketId);
+        ticketEventPublisher.publish(
+            TicketEventType.COMMENT_ADDED, ticketId, username);
+
+        return mapToCommentResponse(savedComment);
     }
 
     public void deleteComment(UUID commentId, String username) {
@@ -66,7 +79,7 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Comment", "id", commentId));
 
-        User currentUser = userRepository.findByUsername(username)
+        AuthenticatedUser currentUser = principalCache.resolve(username)
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "User", "username", username));
 
@@ -79,7 +92,12 @@ public class CommentService {
                 "You don't have permission to delete this comment");
         }
 
+        UUID ticketId = comment.getTicket().getId();
         commentRepository.delete(comment);
+        ticketRepository.decrementCommentCount(ticketId);
+        ticketDetailCache.evict(ticketId);
+        ticketEventPublisher.publish(
+            TicketEventType.COMMENT_DELETED, ticketId, username);
     }
 
     private CommentResponse mapToCommentResponse(Comment comment) {
@@ -0,0 +1,143 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.exception.ConflictException;
+import com.itoffice.ticketsystem.exception.UnauthorizedException;
+import com.itoffice.ticketsystem.model.RefreshToken;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.repository.RefreshTokenRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens
+ *
+ * Tokens are 256 random bits, so a single SHA-256 is enough to store them
+ * safely and a refresh costs one indexed lookup instead of a BCrypt check.
+ *
+ * Several browser tabs can refresh with the same token at once. A token
+ * presented again within refresh-reuse-grace of its rotation, while its family
+ * is still live, is treated as such a race: it gets 409 and no new token, and
+ * the family is left alone. Only hashes are stored, so the successor the first
+ * request received cannot be handed out again; the losing tab retries with the
+ * token the winner stored. A stolen token replayed in the window gets nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    @Value("${app.jwt.refresh-reuse-grace:10s}")
+    private Duration refreshReuseGrace;
+
+    /**
+     * Start a new token family for a fresh login
+     */
+    public String issue(User user) {
+        return createToken(user, UUID.randomUUID());
+    }
+
+    /**
+     * Exchange a refresh token for a new one in the same family
+     *
+     * A token that was already rotated is a replay: the whole family is
+     * revoked (and stays revoked, hence no rollback) so neither the thief
+     * nor the legitimate client can keep using it. The exception is a
+     * concurrent refresh within the grace window, see the class comment.
+     *
+     * @throws ConflictException if the token was rotated within the grace window
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository
+                .findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.isRevoked()) {
+            if (isConcurrentRefresh(current)) {
+                log.debug("Concurrent refresh for user {} in family {}",
+                    current.getUser().getUsername(), current.getFamilyId());
+                throw new ConflictException("Refresh token was just rotated, retry with the current one");
+            }
+            log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                current.getUser().getUsername(), current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        if (current.isExpired()) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        User user = current.getUser();
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+            throw new UnauthorizedException("Account is disabled");
+        }
+
+        current.setRevokedAt(LocalDateTime.now());
+        return new Rotation(user, createToken(user, current.getFamilyId()));
+    }
+
+    // Logout, reuse detection and disabling revoke every token of the family
+    private boolean isConcurrentRefresh(RefreshToken rotated) {
+        return rotated.getRevokedAt().isAfter(LocalDateTime.now().minus(refreshReuseGrace))
+                && refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNull(rotated.getFamilyId());
+    }
+
+    private String createToken(User user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)))
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful rotation: the token's owner and its replacement
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final User user;
+        private final String refreshToken;
+    }
+}
@@ -0,0 +1,59 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of ticket detail responses, keyed by ticket id
+ *
+ * A hit serves the mapped ticket, creator and assignee without touching the
+ * database; callers still authorize every read against the cached createdBy.
+ * Writers evict the ticket they changed. Inside a transaction the eviction is
+ * deferred until commit, so a concurrent reader cannot re-cache the row that
+ * is being replaced. Embedded user details (role, enabled) may lag a user
+ * change by up to the TTL (app.ticket.detail-cache.ttl).
+ */
+@Component
+public class TicketDetailCache {
+
+    public static final String CACHE_NAME = "ticketDetails";
+
+    private final Cache cache;
+
+    public TicketDetailCache(CacheManager cacheManager) {
+        this.cache = new TransactionAwareCacheDecorator(
+            Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), CACHE_NAME));
+    }
+
+    /**
+     * Cached response for the ticket, loading it on a miss
+     *
+     * Concurrent misses for the same id share one load. Exceptions thrown by
+     * the loader (e.g. not found) propagate and nothing is cached.
+     */
+    public TicketResponse get(UUID ticketId, Supplier<TicketResponse> loader) {
+        try {
+            return cache.get(ticketId, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(UUID ticketId) {
+        cache.evict(ticketId);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -1,25 +1,51 @@
 package com.itoffice.ticketsystem.service;
 
+import com.itoffice.ticketsystem.dto.request.BulkUpdateTicketsRequest;
 import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
 import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.BulkUpdateTicketsResponse;
+import com.itoffice.ticketsystem.dto.response.CursorPageResponse;
 import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.dto.response.UserResponse;
+import com.itoffice.ticketsystem.event.TicketEventPublisher;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.exception.BadRequestException;
 import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
 import com.itoffice.ticketsystem.exception.UnauthorizedException;
 import com.itoffice.ticketsystem.model.Ticket;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.model.enums.TicketStatus;
-import com.itoffice.ticketsystem.repository.CommentRepository;
 import com.itoffice.ticketsystem.repository.TicketRepository;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import com.itoffice.ticketsystem.search.TicketSearchEngine;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
+import com.itoffice.ticketsystem.sla.SlaPolicy;
+import com.itoffice.ticketsystem.stats.TicketStatsEngine;
+import com.itoffice.ticketsystem.util.TicketCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,53 +54,156 @@ public class TicketService {
 
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
     private final UserService userService;
+    private final TicketSearchEngine ticketSearchEngine;
+    private final TicketEventPublisher ticketEventPublisher;
+    private final UserPrincipalCache principalCache;
+    private final TicketStatsEngine ticketStatsEngine;
+    private final SlaPolicy slaPolicy;
+    private final TicketDetailCache ticketDetailCache;
 
     public Page<TicketResponse> getAllTickets(String username, Pageable pageable) {
-        User currentUser = getUserByUsername(username);
+        AuthenticatedUser currentUser = getUserByUsername(username);
 
         // Regular users only see their own tickets
         if (currentUser.getRole() == Role.ROLE_USER) {
-            return ticketRepository.findByCreatedBy(currentUser, pageable)
-                    .map(ticket -> mapToTicketResponse(ticket));
+            return ticketRepository.findSummariesByCreatorId(currentUser.getId(), pageable)
+                    .map(this::mapToTicketResponse);
         }
 
         // Technicians, Managers and Admins see all tickets
-        return ticketRepository.findAll(pageable)
-                .map(ticket -> mapToTicketResponse(ticket));
+        return ticketRepository.findAllSummaries(pageable)
+                .map(this::mapToTicketResponse);
+    }
+
+    /**
+     * Keyset-paginated listing, newest first, without a total count
+     *
+     * @param cursor opaque cursor from a previous page, or blank for the first page
+     */
+    public CursorPageResponse<TicketResponse> getTicketsByCursor(String username,
+                                                                String cursor,
+                                                                int size) {
+        AuthenticatedUser currentUser = getUserByUsername(username);
+        TicketCursor position = TicketCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+
+        Slice<TicketSummary> slice;
+        if (currentUser.getRole() == Role.ROLE_USER) {
+            slice = position == null
+                    ? ticketRepository.findFirstSummariesByCreatorIdKeyset(
+                        currentUser.getId(), pageable)
+                    : ticketRepository.findSummariesByCreatorIdKeyset(currentUser.getId(),
+                        position.getCreatedAt(), position.getId(), pageable);
+        } else {
+            slice = position == null
+                    ? ticketRepository.findFirstSummariesByKeyset(pageable)
+                    : ticketRepository.findSummariesByKeyset(
+                        position.getCreatedAt(), position.getId(), pageable);
+        }
+
+        List<TicketSummary> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !rows.isEmpty()) {
+            TicketSummary last = rows.get(rows.size() - 1);
+            nextCursor = new TicketCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<TicketResponse>builder()
+                .content(rows.stream().map(this::mapToTicketResponse).toList())
+                .size(size)
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Dashboard counts for the caller's visibility scope
+     */
+    public TicketStatsResponse getTicketStats(String username) {
+        AuthenticatedUser currentUser = getUserByUsername(username);
+
+        // Regular users only count their own tickets
+        UUID creatorId = currentUser.getRole() == Role.ROLE_USER
+                ? currentUser.getId()
+                : null;
+        return ticketStatsEngine.getStats(creatorId);
+    }
+
+    /**
+     * Open tickets past their SLA deadline, most overdue first (filtered by role)
+     */
+    public Page<TicketResponse> getSlaBreachedTickets(String username, Pageable pageable) {
+        AuthenticatedUser currentUser = getUserByUsername(username);
+        UUID creatorId = currentUser.getRole() == Role.ROLE_USER
+                ? currentUser.getId()
+                : null;
+        return ticketRepository.findSlaBreachedSummaries(
+                    LocalDateTime.now(), creatorId, pageable)
+                .map(this::mapToTicketResponse);
+    }
+
+    /**
+     * Open tickets that will breach their SLA within {@code within}, soonest first
+     *
+     * @param within look-ahead window, or null for app.ticket.sla.at-risk-window
+     */
+    public Page<TicketResponse> getSlaAtRiskTickets(String username, Duration within,
+                                                    Pageable pageable) {
+        AuthenticatedUser currentUser = getUserByUsername(username);
+        UUID creatorId = currentUser.getRole() == Role.ROLE_USER
+                ? currentUser.getId()
+                : null;
+        if (within != null && within.isNegative()) {
+            throw new BadRequestException("SLA look-ahead window must not be negative");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return ticketRepository.findSlaAtRiskSummaries(now,
+                    now.plus(within != null ? within : slaPolicy.getAtRiskWindow()),
+                    creatorId, pageable)
+                .map(this::mapToTicketResponse);
     }
 
     public TicketResponse getTicketById(UUID id, String username) {
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    "Ticket", "id", id));
+        TicketResponse ticket = ticketDetailCache.get(id, () -> mapToTicketResponse(
+                ticketRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                            "Ticket", "id", id))));
 
-        User currentUser = getUserByUsername(username);
+        AuthenticatedUser currentUser = getUserByUsername(username);
 
-        // Regular users can only see their own tickets
+        // Regular users can only see their own tickets; checked on every read, cached or not
         if (currentUser.getRole() == Role.ROLE_USER &&
             !ticket.getCreatedBy().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException(
                 "You don't have permission to view this ticket");
         }
 
-        return mapToTicketResponse(ticket);
+        // The breach flag moves with the clock, not with writes
+        boolean slaBreached = isSlaBreached(ticket.getStatus(), ticket.getDueAt());
+        return slaBreached == ticket.isSlaBreached()
+                ? ticket
+                : ticket.toBuilder().slaBreached(slaBreached).build();
     }
 
     public TicketResponse createTicket(CreateTicketRequest request,
                                         String username) {
-        User currentUser = getUserByUsername(username);
+        AuthenticatedUser currentUser = getUserByUsername(username);
 
         Ticket ticket = Ticket.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .priority(request.getPriority())
                 .status(TicketStatus.OPEN)
-                .createdBy(currentUser)
+                .dueAt(slaPolicy.dueAt(request.getPriority(), LocalDateTime.now()))
+                .createdBy(userRepository.getReferenceById(currentUser.getId()))
                 .build();
 
-        return mapToTicketResponse(ticketRepository.save(ticket));
+        Ticket savedTicket = ticketRepository.save(ticket);
+        ticketEventPublisher.publish(TicketEventType.CREATED, savedTicket.getId(),
+            username, null, TicketSnapshot.of(savedTicket));
+
+        return mapToTicketResponse(savedTicket);
     }
 
     public TicketResponse updateTicket(UUID id, UpdateTicketRequest request,
@@ -83,7 +212,7 @@ public class TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Ticket", "id", id));
 
-        User currentUser = getUserByUsername(username);
+        AuthenticatedUser currentUser = getUserByUsername(username);
 
         // Only creator, manager, or admin can update
         boolean isCreator = ticket.getCreatedBy()
@@ -97,6 +226,8 @@ public class TicketService {
                 "You don't have permission to update this ticket");
         }
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+
         // Update fields if provided
         if (request.getTitle() != null) {
             ticket.setTitle(request.getTitle());
@@ -104,8 +235,10 @@ public class TicketService {
         if (request.getDescription() != null) {
             ticket.setDescription(request.getDescription());
         }
-        if (request.getPriority() != null) {
+        if (request.getPriority() != null
+            && request.getPriority() != ticket.getPriority()) {
             ticket.setPriority(request.getPriority());
+            rescheduleSla(ticket);
         }
 
         // Only technicians, managers and admins can update status
@@ -127,7 +260,112 @@ public class TicketService {
             ticket.setAssignedTo(assignee);
         }
 
-        return mapToTicketResponse(ticketRepository.save(ticket));
+        Ticket savedTicket = ticketRepository.save(ticket);
+        ticketDetailCache.evict(id);
+        ticketEventPublisher.publish(TicketEventType.UPDATED, id, username,
+            before, TicketSnapshot.of(savedTicket));
+
+        return mapToTicketResponse(savedTicket);
+    }
+
+    /**
+     * Apply the same status, priority and/or assignee change to many tickets
+     *
+     * All or nothing: any missing ticket or ticket the caller may not update
+     * rejects the whole request. Targets are loaded with their users in one
+     * IN query and authorized in memory; the dirty rows are written by the
+     * flush at commit as JDBC batches (hibernate.jdbc.batch_size). Tickets
+     * that already hold the requested values are left untouched and raise no
+     * event.
+     */
+    public BulkUpdateTicketsResponse bulkUpdateTickets(BulkUpdateTicketsRequest request,
+                                                       String username) {
+        if (request.getStatus() == null && request.getPriority() == null
+            && request.getAssignedToId() == null) {
+            throw new BadRequestException(
+                "Bulk update needs a status, priority or assignee");
+        }
+
+        AuthenticatedUser currentUser = getUserByUsername(username);
+        boolean isManagerOrAdmin = currentUser.getRole() == Role.ROLE_MANAGER
+            || currentUser.getRole() == Role.ROLE_ADMIN;
+        boolean isTechnician = currentUser.getRole() == Role.ROLE_TECHNICIAN;
+
+        // Same rules as updateTicket, but rejected instead of silently skipped
+        if (request.getStatus() != null && !isTechnician && !isManagerOrAdmin) {
+            throw new UnauthorizedException(
+                "You don't have permission to change ticket status");
+        }
+        if (request.getAssignedToId() != null && !isManagerOrAdmin) {
+            throw new UnauthorizedException(
+                "You don't have permission to assign tickets");
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(request.getTicketIds());
+        List<Ticket> tickets = ticketRepository.findByIdIn(ids);
+        if (tickets.size() != ids.size()) {
+            Set<UUID> found = tickets.stream()
+                    .map(Ticket::getId)
+                    .collect(Collectors.toSet());
+            UUID missing = ids.stream()
+                    .filter(id -> !found.contains(id))
+                    .findFirst()
+                    .orElseThrow();
+            throw new ResourceNotFoundException("Ticket", "id", missing);
+        }
+
+        // Regular users may only change the priority of their own tickets
+        if (!isTechnician && !isManagerOrAdmin) {
+            boolean allOwn = tickets.stream().allMatch(ticket ->
+                ticket.getCreatedBy().getId().equals(currentUser.getId()));
+            if (!allOwn) {
+                throw new UnauthorizedException(
+                    "You don't have permission to update these tickets");
+            }
+        }
+
+        User assignee = request.getAssignedToId() == null ? null
+            : userRepository.findById(request.getAssignedToId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "User", "id", request.getAssignedToId()));
+
+        int updated = 0;
+        for (Ticket ticket : tickets) {
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            boolean changed = false;
+
+            if (request.getPriority() != null
+                && request.getPriority() != ticket.getPriority()) {
+                ticket.setPriority(request.getPriority());
+                rescheduleSla(ticket);
+                changed = true;
+            }
+            if (request.getStatus() != null
+                && request.getStatus() != ticket.getStatus()) {
+                ticket.setStatus(request.getStatus());
+                if (request.getStatus() == TicketStatus.RESOLVED) {
+                    ticket.setResolvedAt(LocalDateTime.now());
+                }
+                changed = true;
+            }
+            if (assignee != null && (ticket.getAssignedTo() == null
+                || !ticket.getAssignedTo().getId().equals(assignee.getId()))) {
+                ticket.setAssignedTo(assignee);
+                changed = true;
+            }
+
+            if (changed) {
+                updated++;
+                ticketDetailCache.evict(ticket.getId());
+                ticketEventPublisher.publish(TicketEventType.UPDATED, ticket.getId(),
+                    username, before, TicketSnapshot.of(ticket));
+            }
+        }
+
+        return BulkUpdateTicketsResponse.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .build();
     }
 
     public void deleteTicket(UUID id, String username) {
@@ -135,7 +373,7 @@ public class TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Ticket", "id", id));
 
-        User currentUser = getUserByUsername(username);
+        AuthenticatedUser currentUser = getUserByUsername(username);
 
         boolean isCreator = ticket.getCreatedBy()
             .getId().equals(currentUser.getId());
@@ -146,17 +384,63 @@ public class TicketService {
                 "You don't have permission to delete this ticket");
         }
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         ticketRepository.delete(ticket);
+        ticketDetailCache.evict(id);
+        ticketEventPublisher.publish(TicketEventType.DELETED, id, username,
+            before, null);
     }
 
     public Page<TicketResponse> searchTickets(String searchTerm,
+                                               String username,
                                                Pageable pageable) {
-        return ticketRepository.searchTickets(searchTerm, pageable)
-                .map(ticket -> mapToTicketResponse(ticket));
+        AuthenticatedUser currentUser = getUserByUsername(username);
+
+        // Regular users only find their own tickets
+        UUID ownerId = currentUser.getRole() == Role.ROLE_USER ?
+            currentUser.getId() : null;
+
+        // The engine ranks and pages ids; rows are hydrated in one query
+        // and put back into relevance order
+        Page<UUID> hits = ticketSearchEngine.search(searchTerm, ownerId, pageable);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+        }
+
+        Map<UUID, TicketSummary> rows = ticketRepository
+                .findSummariesByIdIn(hits.getContent())
+                .stream()
+                .collect(Collectors.toMap(TicketSummary::getId, Function.identity()));
+
+        List<TicketResponse> content = hits.getContent().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToTicketResponse)
+                .toList();
+
+        return new PageImpl<>(content, pageable, hits.getTotalElements());
+    }
+
+    // The SLA clock keeps running from creation; a later deadline re-arms the breach scanner
+    private void rescheduleSla(Ticket ticket) {
+        LocalDateTime openedAt = ticket.getCreatedAt() != null
+                ? ticket.getCreatedAt()
+                : LocalDateTime.now();
+        ticket.setDueAt(slaPolicy.dueAt(ticket.getPriority(), openedAt));
+        if (ticket.getDueAt().isAfter(LocalDateTime.now())) {
+            ticket.setSlaBreachedAt(null);
+        }
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+    private static boolean isSlaBreached(TicketStatus status, LocalDateTime dueAt) {
+        return dueAt != null
+                && (status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS)
+                && dueAt.isBefore(LocalDateTime.now());
+    }
+
+    // Uses the principal resolved by the JWT filter, so no users-table lookup
+    private AuthenticatedUser getUserByUsername(String username) {
+        return principalCache.resolve(username)
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "User", "username", username));
     }
@@ -174,7 +458,50 @@ public class TicketService {
                 .createdAt(ticket.getCreatedAt())
                 .updatedAt(ticket.getUpdatedAt())
                 .resolvedAt(ticket.getResolvedAt())
-                .commentCount(commentRepository.countByTicket(ticket))
+                .dueAt(ticket.getDueAt())
+                .slaBreached(isSlaBreached(ticket.getStatus(), ticket.getDueAt()))
+                .commentCount(ticket.getCommentCount())
+                .build();
+    }
+
+    /**
+     * Map a listing projection without touching lazy associations
+     */
+    public TicketResponse mapToTicketResponse(TicketSummary summary) {
+        UserResponse assignedTo = null;
+        if (summary.getAssigneeId() != null) {
+            assignedTo = UserResponse.builder()
+                    .id(summary.getAssigneeId())
+                    .username(summary.getAssigneeUsername())
+                    .email(summary.getAssigneeEmail())
+                    .role(summary.getAssigneeRole())
+                    .enabled(Boolean.TRUE.equals(summary.getAssigneeEnabled()))
+                    .createdAt(summary.getAssigneeCreatedAt())
+                    .build();
+        }
+
+        return TicketResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .description(summary.getDescription())
+                .status(summary.getStatus())
+                .priority(summary.getPriority())
+                .createdBy(UserResponse.builder()
+                    .id(summary.getCreatorId())
+                    .username(summary.getCreatorUsername())
+                    .email(summary.getCreatorEmail())
+                    .role(summary.getCreatorRole())
+                    .enabled(Boolean.TRUE.equals(summary.getCreatorEnabled()))
+                    .createdAt(summary.getCreatorCreatedAt())
+                    .build())
+                .assignedTo(assignedTo)
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .resolvedAt(summary.getResolvedAt())
+                .dueAt(summary.getDueAt())
+                .slaBreached(isSlaBreached(summary.getStatus(), summary.getDueAt()))
+                .commentCount(summary.getCommentCount() != null ?
+                    summary.getCommentCount() : 0L)
                 .build();
     }
 }
@@ -7,6 +7,8 @@ import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.TokenVersionRegistry;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
 
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll()
@@ -70,14 +74,21 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setRole(newRole);
-        return mapToUserResponse(userRepository.save(user));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = userRepository.save(user);
+        principalCache.evict(user.getUsername());
+        tokenVersions.update(user.getId(), user.getTokenVersion());
+        return mapToUserResponse(savedUser);
     }
 
     public void toggleUserEnabled(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setEnabled(!user.isEnabled());
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
+        tokenVersions.update(user.getId(), user.getTokenVersion());
     }
 
     public void deleteUser(UUID id) {
@@ -85,6 +96,8 @@ public class UserService {
             throw new ResourceNotFoundException("User", "id", id);
         }
         userRepository.deleteById(id);
+        principalCache.evictById(id);
+        tokenVersions.revoke(id);
     }
 
     public UserResponse mapToUserResponse(User user) {
@@ -0,0 +1,203 @@
+package com.itoffice.ticketsystem.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by an id, with one-tick resolution
+ *
+ * Four levels of 64 slots cover 64^4 ticks (about 194 days at one second per
+ * tick); deadlines further out are parked in the last slot of the top level
+ * and re-placed when it cascades. A timer is placed at the lowest level whose
+ * higher digits match the current tick, and moves one level down each time
+ * its slot cascades, so scheduling, cancelling and expiring are all O(1) and
+ * the cost of a tick does not depend on how many timers are pending.
+ *
+ * Timers live in intrusive doubly-linked slot lists plus an id index, so
+ * memory is one small node per pending timer; {@code capacity} caps it.
+ *
+ * Not thread-safe: callers serialize access.
+ */
+class HierarchicalTimerWheel<K> {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int SPAN_BITS = LEVELS * SLOT_BITS;
+
+    private final Node<K>[][] wheel;
+    private final Map<K, Node<K>> timers = new HashMap<>();
+    private final int capacity;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimerWheel(long startTick, int capacity) {
+        this.wheel = new Node[LEVELS][SLOTS];
+        this.currentTick = startTick;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Arm (or re-arm) the timer for {@code key}
+     *
+     * Deadlines at or before the current tick fire on the next tick.
+     *
+     * @return false if the wheel is full and the timer was not armed
+     */
+    boolean schedule(K key, long deadlineTick) {
+        Node<K> node = timers.get(key);
+        if (node != null) {
+            unlink(node);
+        } else {
+            if (timers.size() >= capacity) {
+                return false;
+            }
+            node = new Node<>(key);
+            timers.put(key, node);
+        }
+        node.deadline = deadlineTick;
+        place(node, currentTick + 1);
+        return true;
+    }
+
+    /**
+     * @return true if a pending timer was removed
+     */
+    boolean cancel(K key) {
+        Node<K> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Move the wheel forward to {@code nowTick}
+     *
+     * @return keys whose deadline passed, in deadline order
+     */
+    List<K> advanceTo(long nowTick) {
+        List<K> expired = new ArrayList<>();
+        while (currentTick < nowTick) {
+            currentTick++;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) != 0) {
+                    break;
+                }
+                cascade(level, slot(currentTick, level));
+            }
+            expire(slot(currentTick, 0), expired);
+        }
+        return expired;
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    // earliest is the first tick whose level-0 slot has not been expired yet. Overdue timers
+    // go there; far-future ones wait at the end of the current span
+    private void place(Node<K> node, long earliest) {
+        long target = Math.max(node.deadline, earliest);
+        if ((target >>> SPAN_BITS) != (earliest >>> SPAN_BITS)) {
+            target = earliest | ((1L << SPAN_BITS) - 1);
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1
+                && (target >>> ((level + 1) * SLOT_BITS)) != (currentTick >>> ((level + 1) * SLOT_BITS))) {
+            level++;
+        }
+        link(node, level, slot(target, level));
+    }
+
+    private void cascade(int level, int slot) {
+        Node<K> node = detachSlot(level, slot);
+        while (node != null) {
+            Node<K> next = node.next;
+            node.next = null;
+            // The current tick's level-0 slot is expired right after cascading
+            place(node, currentTick);
+            node = next;
+        }
+    }
+
+    private void expire(int slot, List<K> expired) {
+        Node<K> node = detachSlot(0, slot);
+        while (node != null) {
+            Node<K> next = node.next;
+            node.next = null;
+            if (node.deadline > currentTick) {
+                // Parked beyond the wheel's span; not due yet
+                place(node, currentTick + 1);
+            } else {
+                timers.remove(node.key);
+                expired.add(node.key);
+            }
+            node = next;
+        }
+    }
+
+    private Node<K> detachSlot(int level, int slot) {
+        Node<K> head = wheel[level][slot];
+        wheel[level][slot] = null;
+        for (Node<K> node = head; node != null; node = node.next) {
+            node.level = -1;
+        }
+        return head;
+    }
+
+    private void link(Node<K> node, int level, int slot) {
+        Node<K> head = wheel[level][slot];
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        wheel[level][slot] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.level < 0) {
+            return;
+        }
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            wheel[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.level = -1;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private long deadline;
+        private int level = -1;
+        private int slot;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.itoffice.ticketsystem.sla;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.SlaDeadline;
+import com.itoffice.ticketsystem.scheduler.SlaBreachScanner;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Fires SLA breaches within a second of the deadline, without polling the database
+ *
+ * Every open ticket's deadline sits in a {@link HierarchicalTimerWheel} with
+ * one-second ticks. The wheel is loaded once at startup and then kept in step
+ * by committed ticket events: created and re-prioritized tickets are
+ * (re)armed, resolved, closed and deleted ones are cancelled. A dedicated
+ * thread advances it every second and hands expired ids to
+ * {@link SlaBreachScanner#report}, which re-checks them against the database
+ * before stamping and publishing the breach.
+ *
+ * The wheel holds at most app.ticket.sla.timer.max-timers deadlines; tickets
+ * beyond that are left to the periodic scanner.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ticket.sla.timer.enabled", havingValue = "true", matchIfMissing = true)
+public class SlaBreachTimer implements MeterBinder, DisposableBean {
+
+    private final TicketRepository ticketRepository;
+    private final SlaBreachScanner slaBreachScanner;
+    private final Clock clock;
+    private final HierarchicalTimerWheel<UUID> wheel;
+    private final ScheduledExecutorService ticker;
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+    @Autowired
+    public SlaBreachTimer(TicketRepository ticketRepository,
+                          SlaBreachScanner slaBreachScanner,
+                          @Value("${app.ticket.sla.timer.max-timers:500000}") int maxTimers) {
+        this(ticketRepository, slaBreachScanner, maxTimers, Clock.systemDefaultZone());
+    }
+
+    SlaBreachTimer(TicketRepository ticketRepository, SlaBreachScanner slaBreachScanner,
+                   int maxTimers, Clock clock) {
+        this.ticketRepository = ticketRepository;
+        this.slaBreachScanner = slaBreachScanner;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimerWheel<>(nowTick(), maxTimers);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void start() {
+        try (Stream<SlaDeadline> deadlines = ticketRepository.streamPendingSlaDeadlines()) {
+            deadlines.forEach(deadline -> arm(deadline.getId(), deadline.getDueAt()));
+        }
+        log.info("Armed SLA timer wheel with {} deadline(s)", pending());
+        ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        TicketSnapshot after = event.getAfter();
+        if (after == null) {
+            // Deletes carry no after-image; other events without snapshots leave the deadline alone
+            if (event.getBefore() != null) {
+                cancel(event.getTicketId());
+            }
+            return;
+        }
+        boolean running = after.getStatus() == TicketStatus.OPEN
+                || after.getStatus() == TicketStatus.IN_PROGRESS;
+        if (running && after.getDueAt() != null) {
+            arm(event.getTicketId(), after.getDueAt());
+        } else {
+            cancel(event.getTicketId());
+        }
+    }
+
+    /**
+     * Advance the wheel to the current second and report what expired
+     *
+     * @return number of breaches reported
+     */
+    public int tick() {
+        List<UUID> expired;
+        synchronized (wheel) {
+            expired = wheel.advanceTo(nowTick());
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        try {
+            int reported = slaBreachScanner.report(expired);
+            if (reported > 0) {
+                log.warn("{} ticket(s) breached their SLA", reported);
+            }
+            return reported;
+        } catch (RuntimeException e) {
+            // The periodic scanner picks these up; keep the ticker alive
+            log.error("Failed to report {} SLA breach(es)", expired.size(), e);
+            return 0;
+        }
+    }
+
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.sla.timers", this, SlaBreachTimer::pending)
+                .description("Open ticket SLA deadlines armed in the timer wheel")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void arm(UUID ticketId, LocalDateTime dueAt) {
+        boolean armed;
+        synchronized (wheel) {
+            armed = wheel.schedule(ticketId, toTick(dueAt));
+        }
+        if (!armed && overflowLogged.compareAndSet(false, true)) {
+            log.warn("SLA timer wheel is full; further deadlines fall back to the periodic scan");
+        }
+    }
+
+    private void cancel(UUID ticketId) {
+        synchronized (wheel) {
+            wheel.cancel(ticketId);
+        }
+    }
+
+    private long nowTick() {
+        return clock.millis() / 1000;
+    }
+
+    // Round up so a timer never fires before its deadline
+    private long toTick(LocalDateTime dueAt) {
+        long millis = dueAt.atZone(clock.getZone()).toInstant().toEpochMilli();
+        return Math.floorDiv(millis + 999, 1000);
+    }
+}
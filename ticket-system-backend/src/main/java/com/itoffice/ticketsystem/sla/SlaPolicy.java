@@ -0,0 +1,49 @@
+package com.itoffice.ticketsystem.sla;
+
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resolution targets per priority, from app.ticket.sla
+ *
+ * A ticket is due a fixed number of hours after it was opened; changing the
+ * priority moves the deadline but never restarts the clock.
+ */
+@Component
+public class SlaPolicy {
+
+    private final Map<TicketPriority, Duration> targets = new EnumMap<>(TicketPriority.class);
+    private final Duration atRiskWindow;
+
+    public SlaPolicy(@Value("${app.ticket.sla.critical-priority-hours:1}") long criticalHours,
+                     @Value("${app.ticket.sla.high-priority-hours:4}") long highHours,
+                     @Value("${app.ticket.sla.medium-priority-hours:24}") long mediumHours,
+                     @Value("${app.ticket.sla.low-priority-hours:72}") long lowHours,
+                     @Value("${app.ticket.sla.at-risk-window:2h}") Duration atRiskWindow) {
+        targets.put(TicketPriority.CRITICAL, Duration.ofHours(criticalHours));
+        targets.put(TicketPriority.HIGH, Duration.ofHours(highHours));
+        targets.put(TicketPriority.MEDIUM, Duration.ofHours(mediumHours));
+        targets.put(TicketPriority.LOW, Duration.ofHours(lowHours));
+        this.atRiskWindow = atRiskWindow;
+    }
+
+    /**
+     * Deadline for a ticket of the given priority opened at {@code openedAt}
+     */
+    public LocalDateTime dueAt(TicketPriority priority, LocalDateTime openedAt) {
+        return openedAt.plus(targets.get(priority != null ? priority : TicketPriority.MEDIUM));
+    }
+
+    /**
+     * How far ahead of its deadline an open ticket counts as at risk by default
+     */
+    public Duration getAtRiskWindow() {
+        return atRiskWindow;
+    }
+}
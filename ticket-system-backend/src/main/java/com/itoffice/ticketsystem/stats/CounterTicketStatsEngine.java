@@ -0,0 +1,191 @@
+package com.itoffice.ticketsystem.stats;
+
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketCounterRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Dashboard statistics from an in-memory counter matrix
+ *
+ * Counts are kept per (status, priority, assignee) cell, once for all tickets
+ * and once per creator, in striped {@link LongAdder}s, so reading stats costs a
+ * walk over a few dozen cells regardless of how many tickets exist. Alongside,
+ * the cell each ticket is currently counted in is remembered.
+ *
+ * The matrix is built from the database at startup. A committed ticket event
+ * re-reads that ticket's row and moves it between cells only if its placement
+ * changed, so a redelivered event, or one dispatched after a rebuild already
+ * saw the change, counts nothing twice. Reloads of the same ticket are
+ * serialized (load included), like the in-memory search index.
+ *
+ * Events are per instance, so this source is opt-in and meant for a single
+ * instance. A change that commits while the matrix is being rebuilt, or that
+ * another instance dispatched, can still be missed; a periodic reconciliation
+ * against the database repairs that drift.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ticket.stats.source", havingValue = "counters")
+@RequiredArgsConstructor
+public class CounterTicketStatsEngine implements TicketStatsEngine {
+
+    // Scope key for the all-tickets matrix
+    private static final UUID ALL = new UUID(0L, 0L);
+
+    private final TicketRepository ticketRepository;
+
+    // Striped by ticket id; held across the database load in refresh
+    private final ReentrantLock[] ticketLocks = IntStream.range(0, 64)
+            .mapToObj(i -> new ReentrantLock())
+            .toArray(ReentrantLock[]::new);
+
+    private final Map<UUID, String> assigneeNames = new ConcurrentHashMap<>();
+    private volatile Matrix matrix = new Matrix();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildCounters() {
+        matrix = load();
+        log.info("Built ticket counter matrix ({} tickets, {} scopes)",
+            matrix.placements.size(), matrix.scopes.size());
+    }
+
+    /**
+     * Rebuild from the database and swap in the result if it differs
+     *
+     * @return true if drift was found and repaired
+     */
+    @Scheduled(initialDelayString = "${app.ticket.stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.ticket.stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public boolean reconcile() {
+        Matrix fresh = load();
+        if (fresh.placements.equals(matrix.placements)) {
+            return false;
+        }
+        log.warn("Ticket counter matrix drifted from the database; rebuilt");
+        matrix = fresh;
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        // Comment events carry no snapshots and never move a ticket between cells
+        if (event.getBefore() != null || event.getAfter() != null) {
+            refresh(event.getTicketId());
+        }
+    }
+
+    /**
+     * Re-read one ticket and count it in its current cell (or nowhere, once deleted)
+     */
+    public void refresh(UUID ticketId) {
+        ReentrantLock ticketLock = ticketLocks[Math.floorMod(ticketId.hashCode(), ticketLocks.length)];
+        ticketLock.lock();
+        try {
+            Placement placement = ticketRepository.findCounterRowById(ticketId)
+                .map(this::placement)
+                .orElse(null);
+            matrix.place(ticketId, placement);
+        } finally {
+            ticketLock.unlock();
+        }
+    }
+
+    @Override
+    public TicketStatsResponse getStats(UUID creatorId) {
+        TicketStatsAccumulator stats = new TicketStatsAccumulator();
+        Map<Cell, LongAdder> cells = matrix.scopes.get(creatorId != null ? creatorId : ALL);
+        if (cells != null) {
+            cells.forEach((cell, counter) -> {
+                long count = counter.sum();
+                if (count != 0) {
+                    stats.add(cell.status(), cell.priority(), cell.assigneeId(),
+                        cell.assigneeId() != null ? assigneeNames.get(cell.assigneeId()) : null,
+                        count);
+                }
+            });
+        }
+        return stats.build();
+    }
+
+    private Matrix load() {
+        Matrix fresh = new Matrix();
+        try (Stream<TicketCounterRow> rows = ticketRepository.streamCounterRows()) {
+            rows.forEach(row -> fresh.place(row.getId(), placement(row)));
+        }
+        return fresh;
+    }
+
+    private Placement placement(TicketCounterRow row) {
+        if (row.getAssigneeId() != null && row.getAssigneeUsername() != null) {
+            assigneeNames.put(row.getAssigneeId(), row.getAssigneeUsername());
+        }
+        return new Placement(row.getCreatorId(),
+            new Cell(row.getStatus(), row.getPriority(), row.getAssigneeId()));
+    }
+
+    private static final class Matrix {
+
+        private final Map<UUID, Map<Cell, LongAdder>> scopes = new ConcurrentHashMap<>();
+        private final Map<UUID, Placement> placements = new ConcurrentHashMap<>();
+
+        // Callers serialize per ticket id
+        void place(UUID ticketId, Placement placement) {
+            Placement previous = placement != null
+                ? placements.put(ticketId, placement)
+                : placements.remove(ticketId);
+            if (Objects.equals(previous, placement)) {
+                return;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (placement != null) {
+                add(placement, 1);
+            }
+        }
+
+        private void add(Placement placement, long delta) {
+            counter(ALL, placement.cell()).add(delta);
+            counter(placement.creatorId(), placement.cell()).add(delta);
+        }
+
+        private LongAdder counter(UUID scope, Cell cell) {
+            return scopes.computeIfAbsent(scope, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell, key -> new LongAdder());
+        }
+    }
+
+    private record Placement(UUID creatorId, Cell cell) {
+    }
+
+    private record Cell(TicketStatus status, TicketPriority priority, UUID assigneeId) {
+        Cell {
+            Objects.requireNonNull(status);
+            Objects.requireNonNull(priority);
+        }
+    }
+}
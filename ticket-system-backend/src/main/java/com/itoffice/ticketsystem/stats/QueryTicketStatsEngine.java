@@ -0,0 +1,40 @@
+package com.itoffice.ticketsystem.stats;
+
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketStatsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Dashboard statistics from a single GROUP BY query
+ *
+ * Results are cached per visibility scope (all tickets, or one creator's)
+ * for a few seconds, so a dashboard refresh storm costs one query per scope.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ticket.stats.source", havingValue = "query", matchIfMissing = true)
+@RequiredArgsConstructor
+public class QueryTicketStatsEngine implements TicketStatsEngine {
+
+    public static final String CACHE_NAME = "ticketStats";
+
+    private final TicketRepository ticketRepository;
+
+    @Override
+    @Cacheable(cacheNames = CACHE_NAME, key = "#creatorId == null ? 'all' : #creatorId")
+    @Transactional(readOnly = true)
+    public TicketStatsResponse getStats(UUID creatorId) {
+        TicketStatsAccumulator stats = new TicketStatsAccumulator();
+        for (TicketStatsRow row : ticketRepository.countByStatusPriorityAndAssignee(creatorId)) {
+            stats.add(row.getStatus(), row.getPriority(),
+                row.getAssigneeId(), row.getAssigneeUsername(), row.getTicketCount());
+        }
+        return stats.build();
+    }
+}
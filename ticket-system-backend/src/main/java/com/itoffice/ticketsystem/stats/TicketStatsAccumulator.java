@@ -0,0 +1,59 @@
+package com.itoffice.ticketsystem.stats;
+
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Folds (status, priority, assignee, count) cells into a {@link TicketStatsResponse}
+ */
+class TicketStatsAccumulator {
+
+    private final Map<TicketStatus, Long> byStatus = new EnumMap<>(TicketStatus.class);
+    private final Map<TicketPriority, Long> byPriority = new EnumMap<>(TicketPriority.class);
+    private final Map<UUID, TicketStatsResponse.AssigneeCount> byAssignee = new LinkedHashMap<>();
+    private long total;
+    private long unassigned;
+
+    TicketStatsAccumulator() {
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (TicketPriority priority : TicketPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+    }
+
+    void add(TicketStatus status, TicketPriority priority,
+             UUID assigneeId, String assigneeUsername, long count) {
+        total += count;
+        byStatus.merge(status, count, Long::sum);
+        byPriority.merge(priority, count, Long::sum);
+        if (assigneeId == null) {
+            unassigned += count;
+        } else {
+            TicketStatsResponse.AssigneeCount assignee = byAssignee.computeIfAbsent(
+                assigneeId, id -> new TicketStatsResponse.AssigneeCount(id, assigneeUsername, 0));
+            assignee.setCount(assignee.getCount() + count);
+        }
+    }
+
+    TicketStatsResponse build() {
+        return TicketStatsResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byAssignee(byAssignee.values().stream()
+                    .sorted(Comparator.comparingLong(
+                        TicketStatsResponse.AssigneeCount::getCount).reversed())
+                    .toList())
+                .unassigned(unassigned)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.itoffice.ticketsystem.stats;
+
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+
+import java.util.UUID;
+
+/**
+ * Backend that produces dashboard counts by status, priority and assignee
+ *
+ * The active engine is chosen with {@code app.ticket.stats.source}.
+ */
+public interface TicketStatsEngine {
+
+    /**
+     * @param creatorId restrict to tickets created by this user, or null for all
+     */
+    TicketStatsResponse getStats(UUID creatorId);
+}
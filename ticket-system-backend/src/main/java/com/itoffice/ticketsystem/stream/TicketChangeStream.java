@@ -0,0 +1,272 @@
+package com.itoffice.ticketsystem.stream;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itoffice.ticketsystem.dto.response.TicketChangeResponse;
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.exception.TooManyRequestsException;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.TokenVersionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed ticket changes to live UIs over Server-Sent Events
+ *
+ * Each subscriber is an {@link SseEmitter} (the servlet request thread is
+ * released as soon as the stream opens) plus a small bounded buffer drained
+ * by its own virtual thread, so an idle connection costs a parked virtual
+ * thread and a socket, and a slow client only ever blocks itself. Fan-out
+ * happens on the committed-event path and never waits on a socket: a
+ * subscriber whose buffer is full is disconnected, and its EventSource
+ * reconnects and refetches.
+ *
+ * Events are filtered like the REST listings: ROLE_USER subscribers only see
+ * tickets they created, everyone else sees all tickets. A comment on a ticket
+ * carries no snapshot, so its owner is looked up (and cached) when at least
+ * one such subscriber is connected. The subscriber's token version is checked
+ * again on every dispatch and heartbeat, so a stream opened before the user
+ * was disabled, demoted or deleted is closed like their JWT is rejected.
+ */
+@Slf4j
+@Component
+public class TicketChangeStream implements MeterBinder, DisposableBean {
+
+    static final String EVENT_NAME = "ticket";
+
+    private final TicketRepository ticketRepository;
+    private final TokenVersionRegistry tokenVersions;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Cache<UUID, UUID> ticketOwners = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+    private final ThreadFactory senderThreads = Thread.ofVirtual().name("ticket-stream-", 1).factory();
+    private final ScheduledExecutorService heartbeat;
+
+    private Counter disconnectedCounter;
+
+    public TicketChangeStream(TicketRepository ticketRepository,
+                              TokenVersionRegistry tokenVersions,
+                              @Value("${app.ticket.stream.max-subscribers:5000}") int maxSubscribers,
+                              @Value("${app.ticket.stream.buffer-size:64}") int bufferSize,
+                              @Value("${app.ticket.stream.timeout:30m}") Duration timeout,
+                              @Value("${app.ticket.stream.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.ticketRepository = ticketRepository;
+        this.tokenVersions = tokenVersions;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Comment lines keep proxies from closing idle streams and surface dead sockets
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMs = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(
+            () -> subscribers.forEach(subscriber -> {
+                if (isAuthorized(subscriber)) {
+                    subscriber.offer(Subscriber.HEARTBEAT);
+                }
+            }),
+            intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream for {@code user}
+     *
+     * @throws TooManyRequestsException if max-subscribers streams are already open
+     */
+    public SseEmitter subscribe(AuthenticatedUser user) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException(
+                "Too many live ticket streams open, please retry shortly",
+                heartbeatInterval.toSeconds());
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        UUID ownerFilter = user.getRole() == Role.ROLE_USER ? user.getId() : null;
+        Subscriber subscriber = new Subscriber(emitter, user.getId(), user.getTokenVersion(), ownerFilter,
+            new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.offer(Subscriber.HEARTBEAT);
+        senderThreads.newThread(subscriber::run).start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketEvent(TicketEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        TicketChangeResponse change = toChange(event);
+        UUID owner = ownerOf(event);
+        for (Subscriber subscriber : subscribers) {
+            if (isAuthorized(subscriber) && subscriber.canSee(owner) && !subscriber.offer(change)) {
+                log.debug("Ticket stream subscriber fell behind; disconnecting");
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    public int size() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.stream.subscribers", this, TicketChangeStream::size)
+                .description("Open live ticket streams")
+                .register(registry);
+        disconnectedCounter = Counter.builder("tickets.stream.disconnected")
+                .description("Live ticket streams closed because the client fell behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(this::remove);
+    }
+
+    private UUID ownerOf(TicketEvent event) {
+        TicketSnapshot snapshot = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (snapshot != null) {
+            ticketOwners.put(event.getTicketId(), snapshot.getCreatorId());
+            return snapshot.getCreatorId();
+        }
+        if (subscribers.stream().allMatch(subscriber -> subscriber.ownerFilter == null)) {
+            return null;
+        }
+        return ticketOwners.get(event.getTicketId(),
+            id -> ticketRepository.findCreatorIdById(id).orElse(null));
+    }
+
+    // Role changes, disabling and deletion all bump or revoke the token version
+    private boolean isAuthorized(Subscriber subscriber) {
+        if (tokenVersions.isCurrent(subscriber.userId, subscriber.tokenVersion)) {
+            return true;
+        }
+        log.debug("Closing ticket stream of user {}: token revoked", subscriber.userId);
+        remove(subscriber);
+        return false;
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        remove(subscriber);
+        if (disconnectedCounter != null) {
+            disconnectedCounter.increment();
+        }
+    }
+
+    // Wakes the sender so it completes the emitter and its virtual thread ends
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.offer(Subscriber.CLOSE);
+        }
+    }
+
+    private static TicketChangeResponse toChange(TicketEvent event) {
+        TicketSnapshot after = event.getAfter();
+        return TicketChangeResponse.builder()
+                .type(event.getType())
+                .ticketId(event.getTicketId())
+                .actor(event.getActor())
+                .occurredAt(event.getOccurredAt())
+                .status(after != null ? after.getStatus() : null)
+                .priority(after != null ? after.getPriority() : null)
+                .assigneeUsername(after != null ? after.getAssigneeUsername() : null)
+                .build();
+    }
+
+    private final class Subscriber {
+        static final Object HEARTBEAT = new Object();
+        static final Object CLOSE = new Object();
+
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final int tokenVersion;
+        // null sees every ticket
+        private final UUID ownerFilter;
+        private final BlockingQueue<Object> queue;
+
+        private Subscriber(SseEmitter emitter, UUID userId, int tokenVersion, UUID ownerFilter,
+                           BlockingQueue<Object> queue) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.tokenVersion = tokenVersion;
+            this.ownerFilter = ownerFilter;
+            this.queue = queue;
+        }
+
+        boolean canSee(UUID owner) {
+            return ownerFilter == null || ownerFilter.equals(owner);
+        }
+
+        boolean offer(Object message) {
+            return queue.offer(message);
+        }
+
+        void run() {
+            try {
+                Object message;
+                while ((message = queue.take()) != CLOSE) {
+                    if (message == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(message));
+                    }
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through onError/onCompletion
+                log.debug("Ticket stream closed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                remove(this);
+            }
+        }
+    }
+}
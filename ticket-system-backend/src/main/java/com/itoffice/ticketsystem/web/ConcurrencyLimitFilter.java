@@ -0,0 +1,130 @@
+package com.itoffice.ticketsystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of API requests executing at once
+ *
+ * With virtual threads Tomcat no longer bounds concurrency with its worker
+ * pool, and thousands of requests can arrive at Hikari together; all but a
+ * pool's worth then wait in getConnection and time out after
+ * connection-timeout. This filter keeps the in-flight count near what the
+ * pool can serve (a fair semaphore sized from maximum-pool-size) and parks
+ * the rest, which is cheap on a virtual thread. Requests that cannot get a
+ * permit within acquire-timeout are shed with 503 + Retry-After.
+ *
+ * The live ticket stream is exempt: it holds its connection open without
+ * touching the database.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String STREAM_PATH = "/api/tickets/stream";
+
+    private final Semaphore permits;
+    private final int limit;
+    private final Duration acquireTimeout;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private Counter rejectedCounter;
+
+    public ConcurrencyLimitFilter(int limit, Duration acquireTimeout,
+                                  long retryAfterSeconds, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || path.equals(STREAM_PATH)
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            reject(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.server.requests.limit.active", this,
+                        filter -> filter.limit - filter.permits.availablePermits())
+                .description("API requests holding a concurrency permit")
+                .register(registry);
+        Gauge.builder("http.server.requests.limit.waiting", waiting, AtomicInteger::get)
+                .description("API requests waiting for a concurrency permit")
+                .register(registry);
+        rejectedCounter = Counter.builder("http.server.requests.limit.rejected")
+                .description("API requests shed because no permit freed up in time")
+                .register(registry);
+    }
+
+    private boolean acquire() {
+        waiting.incrementAndGet();
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (rejectedCounter != null) {
+            rejectedCounter.increment();
+        }
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is busy, please retry shortly",
+                LocalDateTime.now(),
+                "uri=" + request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
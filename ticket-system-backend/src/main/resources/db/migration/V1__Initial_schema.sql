@@ -0,0 +1,58 @@
+-- ============================================
+-- Initial schema: users, tickets, comments
+-- Mirrors the JPA entities in com.itoffice.ticketsystem.model
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID         NOT NULL PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    email       VARCHAR(100) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(20)  NOT NULL,
+    enabled     BOOLEAN      NOT NULL,
+    first_name  VARCHAR(50),
+    last_name   VARCHAR(50),
+    phone       VARCHAR(20),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_user_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_user_role ON users (role);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id              UUID         NOT NULL PRIMARY KEY,
+    title           VARCHAR(200) NOT NULL,
+    description     TEXT,
+    status          VARCHAR(20)  NOT NULL,
+    priority        VARCHAR(20)  NOT NULL,
+    created_by_id   UUID         NOT NULL REFERENCES users (id),
+    assigned_to_id  UUID         REFERENCES users (id),
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    resolved_at     TIMESTAMP(6),
+    closed_at       TIMESTAMP(6),
+    comment_count   BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_status ON tickets (status);
+CREATE INDEX IF NOT EXISTS idx_ticket_priority ON tickets (priority);
+CREATE INDEX IF NOT EXISTS idx_ticket_created_by ON tickets (created_by_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_assigned_to ON tickets (assigned_to_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_created_at ON tickets (created_at);
+CREATE INDEX IF NOT EXISTS idx_ticket_keyset ON tickets (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_ticket_created_by_keyset ON tickets (created_by_id, created_at, id);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id          UUID          NOT NULL PRIMARY KEY,
+    ticket_id   UUID          NOT NULL REFERENCES tickets (id),
+    user_id     UUID          NOT NULL REFERENCES users (id),
+    content     VARCHAR(1000) NOT NULL,
+    is_internal BOOLEAN       NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_comment_ticket ON comments (ticket_id);
+CREATE INDEX IF NOT EXISTS idx_comment_user ON comments (user_id);
+CREATE INDEX IF NOT EXISTS idx_comment_created_at ON comments (created_at);
@@ -0,0 +1,15 @@
+-- ============================================
+-- Trigram indexes backing the ticket search engine
+-- (app.search.engine=trigram)
+--
+-- GIN trigram indexes accelerate both ILIKE '%term%' substring matches
+-- and the fuzzy similarity operator (%) used for ranking.
+-- ============================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_ticket_title_trgm
+    ON tickets USING gin (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_description_trgm
+    ON tickets USING gin (description gin_trgm_ops);
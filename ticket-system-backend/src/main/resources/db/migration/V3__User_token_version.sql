@@ -0,0 +1,9 @@
+-- ============================================
+-- Per-user token version
+--
+-- Issued JWTs carry the version current at login. Bumping it on role
+-- change or disable revokes every token issued before.
+-- ============================================
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
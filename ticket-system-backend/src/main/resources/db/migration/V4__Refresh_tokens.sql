@@ -0,0 +1,21 @@
+-- ============================================
+-- Rotating refresh tokens
+--
+-- Only SHA-256 hashes of the opaque tokens are stored. Rotated tokens
+-- keep revoked_at set until they expire so replays can be detected.
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          UUID         NOT NULL PRIMARY KEY,
+    user_id     UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash  VARCHAR(64)  NOT NULL,
+    family_id   UUID         NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked_at  TIMESTAMP(6),
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_tokens (expires_at);
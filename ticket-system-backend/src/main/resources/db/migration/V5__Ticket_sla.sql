@@ -0,0 +1,32 @@
+-- ============================================
+-- SLA deadlines
+--
+-- due_at is derived from created_at and the priority targets in
+-- app.ticket.sla; sla_breached_at is set once by the breach scanner.
+-- Both indexes are partial: resolved and closed tickets never breach, so
+-- the scans only touch the (small) set of tickets still being worked on.
+-- ============================================
+
+ALTER TABLE tickets
+    ADD COLUMN IF NOT EXISTS due_at TIMESTAMP(6),
+    ADD COLUMN IF NOT EXISTS sla_breached_at TIMESTAMP(6);
+
+-- Backfill with the default targets (critical 1h, high 4h, medium 24h, low 72h)
+UPDATE tickets
+SET due_at = created_at + CASE priority
+        WHEN 'CRITICAL' THEN INTERVAL '1 hour'
+        WHEN 'HIGH' THEN INTERVAL '4 hours'
+        WHEN 'MEDIUM' THEN INTERVAL '24 hours'
+        ELSE INTERVAL '72 hours'
+    END
+WHERE due_at IS NULL;
+
+-- Breached / at-risk listings
+CREATE INDEX IF NOT EXISTS idx_ticket_due_at
+    ON tickets (due_at)
+    WHERE status IN ('OPEN', 'IN_PROGRESS');
+
+-- Breach scanner: deadlines not yet reported
+CREATE INDEX IF NOT EXISTS idx_ticket_sla_pending
+    ON tickets (due_at)
+    WHERE status IN ('OPEN', 'IN_PROGRESS') AND sla_breached_at IS NULL;
@@ -0,0 +1,21 @@
+-- ============================================
+-- Transactional outbox for ticket domain events
+--
+-- Rows are inserted in the same transaction as the ticket change and
+-- deleted by the relay after dispatch, so the table stays small. The relay
+-- claims the oldest available rows with FOR UPDATE SKIP LOCKED.
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS ticket_outbox (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type       VARCHAR(30)  NOT NULL,
+    ticket_id        UUID         NOT NULL,
+    actor            VARCHAR(50),
+    occurred_at      TIMESTAMP(6) NOT NULL,
+    before_snapshot  TEXT,
+    after_snapshot   TEXT,
+    available_at     TIMESTAMP(6) NOT NULL,
+    attempts         INTEGER      NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_outbox_available ON ticket_outbox (available_at, id);
@@ -0,0 +1,12 @@
+-- ============================================
+-- Pooled sequence for ticket_outbox ids
+--
+-- Identity ids force one INSERT (and generated-key round trip) per event;
+-- a sequence allocated 50 at a time lets outbox rows join the JDBC batch
+-- of the ticket change that raised them. INCREMENT BY must match the
+-- entity's allocationSize. Started past any existing id.
+-- ============================================
+
+CREATE SEQUENCE IF NOT EXISTS ticket_outbox_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('ticket_outbox_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM ticket_outbox));
@@ -3,6 +3,9 @@ package com.itoffice.ticketsystem;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.TokenVersionRegistry;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +21,19 @@ public abstract class BaseIntegrationTest {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    @Autowired
+    protected UserPrincipalCache principalCache;
+
+    @Autowired
+    protected TokenVersionRegistry tokenVersions;
+
+    // Tests recreate users under the same usernames with fresh ids
+    @BeforeEach
+    void resetSecurityCaches() {
+        principalCache.evictAll();
+        tokenVersions.clear();
+    }
+
     protected User createTestUser(String username, Role role) {
         User user = User.builder()
                 .username(username)
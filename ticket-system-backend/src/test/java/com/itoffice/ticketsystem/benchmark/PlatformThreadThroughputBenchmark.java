@@ -0,0 +1,12 @@
+package com.itoffice.ticketsystem.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadThroughputBenchmark extends RequestThroughputBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform threads";
+    }
+}
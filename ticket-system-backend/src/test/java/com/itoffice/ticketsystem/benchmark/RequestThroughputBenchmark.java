@@ -0,0 +1,162 @@
+package com.itoffice.ticketsystem.benchmark;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the ticket listing under concurrent load, per request execution mode
+ *
+ * Subclasses start the app with platform or virtual request threads; each
+ * drives GET /api/tickets from {@code benchmark.clients} concurrent clients
+ * and prints throughput, p50/p99 latency, SQL statements per request and
+ * shed (non-200) responses. Not
+ * part of the regular build; run both with
+ *
+ *   mvn -P benchmark test
+ *
+ * Embedded H2 answers in microseconds, which understates the blocking the
+ * execution modes differ on; point it at PostgreSQL with
+ * -Dspring.datasource.url=... (plus username/password) for realistic numbers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// The test profile's SQL and debug logging would dominate the timings;
+// statistics stay on, as in the load test, for the statements per request
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "logging.level.com.itoffice.ticketsystem=INFO"
+})
+abstract class RequestThroughputBenchmark extends BaseIntegrationTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 25);
+    private static final int TICKETS = Integer.getInteger("benchmark.tickets", 2_000);
+
+    @LocalServerPort private int port;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    protected abstract String mode();
+
+    @Test
+    void listTicketsUnderLoad() throws Exception {
+        String token = seed();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        run(client, token, Math.max(1, CLIENTS / 4), 5);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Result result = run(client, token, CLIENTS, REQUESTS_PER_CLIENT);
+        double sqlPerRequest = (double) statistics.getPrepareStatementCount() / result.latenciesNanos().length;
+
+        System.out.printf("[benchmark] %-16s %d clients x %d requests: %8.1f req/s, p50 %6.1f ms, p99 %7.1f ms, %.2f sql/req, %d failed%n",
+            mode(), CLIENTS, REQUESTS_PER_CLIENT, result.throughput(),
+            result.percentileMs(50), result.percentileMs(99), sqlPerRequest, result.failed());
+        assertTrue(result.failed() < result.latenciesNanos().length,
+            "every request failed, last with HTTP " + result.lastFailureStatus());
+    }
+
+    private String seed() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        User admin = createTestUser("bench-admin", Role.ROLE_ADMIN);
+        List<Ticket> tickets = IntStream.range(0, TICKETS)
+                .mapToObj(i -> Ticket.builder()
+                        .title("Benchmark ticket " + i)
+                        .description("Load test ticket number " + i)
+                        .status(TicketStatus.values()[i % TicketStatus.values().length])
+                        .priority(TicketPriority.values()[i % TicketPriority.values().length])
+                        .createdBy(admin)
+                        .build())
+                .toList();
+        ticketRepository.saveAll(tickets);
+        return jwtUtil.generateToken(AuthenticatedUser.from(admin));
+    }
+
+    private Result run(HttpClient client, String token, int clients, int requestsPerClient)
+            throws Exception {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger lastFailure = new AtomicInteger();
+        int pages = Math.max(1, TICKETS / 20);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int slot = clientIndex * requestsPerClient + r;
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                        "http://localhost:" + port + "/api/tickets?size=20&page=" + (slot % pages)))
+                                .header("Authorization", "Bearer " + token)
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[slot] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                            lastFailure.set(response.statusCode());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(latencies, failed.get(), lastFailure.get(), elapsed);
+    }
+
+    private record Result(long[] latenciesNanos, int failed, int lastFailureStatus, long elapsedNanos) {
+        double throughput() {
+            return latenciesNanos.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMs(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
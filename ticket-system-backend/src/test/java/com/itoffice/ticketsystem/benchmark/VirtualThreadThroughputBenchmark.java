@@ -0,0 +1,13 @@
+package com.itoffice.ticketsystem.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+// The concurrency limit follows spring.threads.virtual.enabled
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadThroughputBenchmark extends RequestThroughputBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual threads";
+    }
+}
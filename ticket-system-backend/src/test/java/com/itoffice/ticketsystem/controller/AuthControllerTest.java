@@ -1,10 +1,14 @@
 package com.itoffice.ticketsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.itoffice.ticketsystem.dto.request.LoginRequest;
+import com.itoffice.ticketsystem.dto.request.RefreshTokenRequest;
 import com.itoffice.ticketsystem.dto.request.RegisterRequest;
+import com.itoffice.ticketsystem.model.RefreshToken;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.RefreshTokenRepository;
 import com.itoffice.ticketsystem.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +20,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
@@ -41,6 +48,9 @@ class AuthControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -172,4 +182,81 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should rotate the refresh token")
+    void shouldRotateRefreshToken() throws Exception {
+        String refreshToken = registerAndGetRefreshToken();
+
+        String rotated = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.refreshToken", not(refreshToken)))
+                .andExpect(jsonPath("$.user.username", is("testuser")))
+                .andReturn().getResponse().getContentAsString();
+
+        refresh(JsonPath.read(rotated, "$.refreshToken"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Reuse should revoke the whole family")
+    void shouldRevokeFamilyOnReuse() throws Exception {
+        String refreshToken = registerAndGetRefreshToken();
+        String rotated = JsonPath.read(refresh(refreshToken)
+                .andReturn().getResponse().getContentAsString(), "$.refreshToken");
+        // Past the concurrent-refresh grace window
+        refreshTokenRepository.findAll().stream()
+                .filter(RefreshToken::isRevoked)
+                .forEach(token -> token.setRevokedAt(LocalDateTime.now().minusMinutes(1)));
+        refreshTokenRepository.flush();
+
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized());
+        refresh(rotated)
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - A refresh racing a rotation gets 409 and no token")
+    void shouldConflictOnConcurrentRefresh() throws Exception {
+        String refreshToken = registerAndGetRefreshToken();
+        String rotated = JsonPath.read(refresh(refreshToken)
+                .andReturn().getResponse().getContentAsString(), "$.refreshToken");
+
+        refresh(refreshToken)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.refreshToken").doesNotExist());
+        refresh(rotated)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh - Should reject unknown tokens")
+    void shouldRejectUnknownRefreshToken() throws Exception {
+        refresh("not-a-token")
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String registerAndGetRefreshToken() throws Exception {
+        RegisterRequest request = RegisterRequest.builder()
+                .username("testuser")
+                .email("test@test.com")
+                .password("Test@1234")
+                .build();
+
+        String body = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.refreshToken");
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new RefreshTokenRequest(refreshToken))));
+    }
 }
@@ -1,28 +1,36 @@
 package com.itoffice.ticketsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.dto.request.BulkUpdateTicketsRequest;
 import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
+import com.itoffice.ticketsystem.model.Ticket;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
 import com.itoffice.ticketsystem.repository.TicketRepository;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
 import com.itoffice.ticketsystem.security.JwtUtil;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
+import com.itoffice.ticketsystem.stats.QueryTicketStatsEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +49,8 @@ class TicketControllerTest {
     @Autowired private TicketRepository ticketRepository;
     @Autowired private PasswordEncoder passwordEncoder;
     @Autowired private JwtUtil jwtUtil;
+    @Autowired private UserPrincipalCache principalCache;
+    @Autowired private CacheManager cacheManager;
 
     private String adminToken;
     private String userToken;
@@ -51,6 +61,8 @@ class TicketControllerTest {
     void setUp() {
         ticketRepository.deleteAll();
         userRepository.deleteAll();
+        principalCache.evictAll();
+        cacheManager.getCache(QueryTicketStatsEngine.CACHE_NAME).clear();
 
         adminUser = userRepository.save(User.builder()
                 .username("admin")
@@ -68,16 +80,8 @@ class TicketControllerTest {
                 .enabled(true)
                 .build());
 
-        adminToken = generateToken("admin", "ROLE_ADMIN");
-        userToken = generateToken("user", "ROLE_USER");
-    }
-
-    private String generateToken(String username, String role) {
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                username, "password",
-                Collections.singletonList(
-                    new SimpleGrantedAuthority(role)));
-        return jwtUtil.generateToken(userDetails);
+        adminToken = jwtUtil.generateToken(AuthenticatedUser.from(adminUser));
+        userToken = jwtUtil.generateToken(AuthenticatedUser.from(regularUser));
     }
 
     @Test
@@ -90,6 +94,54 @@ class TicketControllerTest {
                 .andExpect(jsonPath("$.totalElements", is(0)));
     }
 
+    @Test
+    @DisplayName("GET /api/tickets?cursor= - Should page through tickets by keyset")
+    void shouldPageThroughTicketsByCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        CreateTicketRequest.builder()
+                            .title("Keyset " + i)
+                            .priority(TicketPriority.LOW)
+                            .build())))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/tickets")
+                .param("cursor", "")
+                .param("size", "2")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(firstPage)
+            .get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tickets")
+                .param("cursor", nextCursor)
+                .param("size", "2")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets?cursor=... - Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/tickets")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/tickets - Should return 403 for unauthenticated request")
     void shouldReturn403ForUnauthenticatedRequest() throws Exception {
@@ -133,6 +185,179 @@ class TicketControllerTest {
                     notNullValue()));
     }
 
+    @Test
+    @DisplayName("GET /api/tickets/stats - Should count tickets in the caller's scope")
+    void shouldReturnStatsScopedByRole() throws Exception {
+        createTicket(userToken, "Printer jammed", TicketPriority.HIGH);
+        createTicket(userToken, "Mouse broken", TicketPriority.LOW);
+        createTicket(adminToken, "Server down", TicketPriority.HIGH);
+
+        mockMvc.perform(get("/api/tickets/stats")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.byPriority.HIGH", is(1)))
+                .andExpect(jsonPath("$.byStatus.OPEN", is(2)));
+
+        mockMvc.perform(get("/api/tickets/stats")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byStatus.OPEN", is(3)))
+                .andExpect(jsonPath("$.byStatus.CLOSED", is(0)))
+                .andExpect(jsonPath("$.byPriority.HIGH", is(2)))
+                .andExpect(jsonPath("$.unassigned", is(3)))
+                .andExpect(jsonPath("$.byAssignee", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/sla/* - Should list breached and at-risk open tickets")
+    void shouldListSlaBreachedAndAtRiskTickets() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        saveTicket(regularUser, "Overdue", TicketStatus.OPEN, now.minusHours(3));
+        saveTicket(regularUser, "Long overdue", TicketStatus.IN_PROGRESS, now.minusHours(30));
+        saveTicket(regularUser, "Resolved late", TicketStatus.RESOLVED, now.minusHours(5));
+        saveTicket(regularUser, "Due soon", TicketStatus.OPEN, now.plusMinutes(30));
+        saveTicket(adminUser, "Admin overdue", TicketStatus.OPEN, now.minusHours(1));
+        saveTicket(adminUser, "Due later", TicketStatus.OPEN, now.plusHours(10));
+
+        mockMvc.perform(get("/api/tickets/sla/breached")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.content[0].title", is("Long overdue")))
+                .andExpect(jsonPath("$.content[0].slaBreached", is(true)))
+                .andExpect(jsonPath("$.content[1].title", is("Overdue")));
+
+        mockMvc.perform(get("/api/tickets/sla/breached")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(3)));
+
+        mockMvc.perform(get("/api/tickets/sla/at-risk")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].title", is("Due soon")))
+                .andExpect(jsonPath("$.content[0].slaBreached", is(false)));
+
+        mockMvc.perform(get("/api/tickets/sla/at-risk")
+                .param("within", "PT12H")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.content[1].title", is("Due later")));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/tickets/bulk - Should close many tickets and reject regular users")
+    void shouldBulkUpdateTickets() throws Exception {
+        saveTicket(regularUser, "Keyboard", TicketStatus.OPEN, null);
+        saveTicket(regularUser, "Headset", TicketStatus.IN_PROGRESS, null);
+        saveTicket(adminUser, "Docking station", TicketStatus.CLOSED, null);
+        List<UUID> ids = ticketRepository.findAll().stream().map(Ticket::getId).toList();
+        String closeAll = objectMapper.writeValueAsString(BulkUpdateTicketsRequest.builder()
+                .ticketIds(ids)
+                .status(TicketStatus.CLOSED)
+                .build());
+
+        mockMvc.perform(patch("/api/tickets/bulk")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(closeAll))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(patch("/api/tickets/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(closeAll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(3)))
+                .andExpect(jsonPath("$.updated", is(2)));
+
+        mockMvc.perform(patch("/api/tickets/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkUpdateTicketsRequest.builder()
+                    .ticketIds(List.of())
+                    .status(TicketStatus.CLOSED)
+                    .build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.ticketIds", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/export - Should stream tickets as a CSV attachment")
+    void shouldExportTicketsAsCsv() throws Exception {
+        // Rows are written on another thread, outside this test's transaction;
+        // their content is covered by TicketExporterTest
+        MvcResult started = mockMvc.perform(get("/api/tickets/export")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", containsString("tickets.csv")))
+                .andExpect(content().string(startsWith("id,title,")));
+
+        mockMvc.perform(get("/api/tickets/export")
+                .param("format", "xml")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void saveTicket(User creator, String title, TicketStatus status, LocalDateTime dueAt) {
+        ticketRepository.save(Ticket.builder()
+                .title(title)
+                .status(status)
+                .priority(TicketPriority.MEDIUM)
+                .createdBy(creator)
+                .dueAt(dueAt)
+                .build());
+    }
+
+    private void createTicket(String token, String title, TicketPriority priority) throws Exception {
+        mockMvc.perform(post("/api/tickets")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    CreateTicketRequest.builder()
+                        .title(title)
+                        .priority(priority)
+                        .build())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/search - Should rank title matches first")
+    void shouldRankTitleMatchesFirst() throws Exception {
+        for (String[] ticket : new String[][] {
+                {"VPN drops hourly", "Started after the printer driver update"},
+                {"Printer offline", "Second floor"},
+                {"Monitor flickers", "No relation"}}) {
+            mockMvc.perform(post("/api/tickets")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        CreateTicketRequest.builder()
+                            .title(ticket[0])
+                            .description(ticket[1])
+                            .priority(TicketPriority.MEDIUM)
+                            .build())))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/tickets/search")
+                .param("query", "PRINTER")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.content[0].title", is("Printer offline")))
+                .andExpect(jsonPath("$.content[1].title", is("VPN drops hourly")));
+    }
+
     @Test
     @DisplayName("DELETE /api/tickets/{id} - Admin should delete any ticket")
     void adminShouldDeleteAnyTicket() throws Exception {
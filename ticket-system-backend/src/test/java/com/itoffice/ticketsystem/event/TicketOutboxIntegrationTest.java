@@ -0,0 +1,109 @@
+package com.itoffice.ticketsystem.event;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
+import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketOutboxRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(TicketOutboxIntegrationTest.RecordingConfig.class)
+@DisplayName("Ticket outbox Tests")
+class TicketOutboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired private TicketService ticketService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private TicketOutboxRepository outboxRepository;
+    @Autowired private TicketOutboxRelay relay;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        relay.drain();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        createTestUser("outbox-user", Role.ROLE_USER);
+        createTestUser("outbox-admin", Role.ROLE_ADMIN);
+        relay.drain();
+        listener.events.clear();
+    }
+
+    @Test
+    @DisplayName("Committed changes are relayed with their snapshots and removed from the outbox")
+    void relaysCommittedEvents() {
+        TicketResponse ticket = ticketService.createTicket(CreateTicketRequest.builder()
+                .title("Outbox ticket")
+                .priority(TicketPriority.LOW)
+                .build(), "outbox-user");
+        ticketService.updateTicket(ticket.getId(), UpdateTicketRequest.builder()
+                .status(TicketStatus.IN_PROGRESS)
+                .build(), "outbox-admin");
+
+        relay.drain();
+
+        assertEquals(0, outboxRepository.count());
+        List<TicketEvent> events = listener.events.stream()
+                .filter(event -> event.getTicketId().equals(ticket.getId()))
+                .toList();
+        assertEquals(List.of(TicketEventType.CREATED, TicketEventType.UPDATED),
+            events.stream().map(TicketEvent::getType).toList());
+        assertEquals(TicketStatus.OPEN, events.get(1).getBefore().getStatus());
+        assertEquals(TicketStatus.IN_PROGRESS, events.get(1).getAfter().getStatus());
+        assertNotNull(events.get(1).getAfter().getDueAt());
+    }
+
+    @Test
+    @DisplayName("A rolled-back change leaves no event behind")
+    void dropsEventsOfRolledBackChanges() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ticketService.createTicket(CreateTicketRequest.builder()
+                    .title("Never committed")
+                    .priority(TicketPriority.LOW)
+                    .build(), "outbox-user");
+            assertEquals(1, outboxRepository.count());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, relay.drain());
+        assertEquals(0, outboxRepository.count());
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+        final List<TicketEvent> events = new CopyOnWriteArrayList<>();
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+        public void onTicketEvent(TicketEvent event) {
+            events.add(event);
+        }
+    }
+}
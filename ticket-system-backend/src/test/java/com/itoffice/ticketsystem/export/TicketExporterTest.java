@@ -0,0 +1,230 @@
+package com.itoffice.ticketsystem.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.exception.TooManyRequestsException;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = {
+    "app.events.outbox.background-drain=false",
+    "app.ticket.export.max-concurrent=2"
+})
+@DisplayName("Ticket export")
+class TicketExporterTest extends BaseIntegrationTest {
+
+    // More rows than one JDBC fetch
+    private static final int TICKETS = Integer.parseInt(TicketRepository.EXPORT_FETCH_SIZE) + 20;
+
+    @Autowired private TicketExporter ticketExporter;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = createTestUser("export-owner", Role.ROLE_USER);
+        technician = createTestUser("export-tech", Role.ROLE_TECHNICIAN);
+        User other = createTestUser("export-other", Role.ROLE_USER);
+
+        ticketRepository.save(Ticket.builder()
+                .title("Printer says \"offline\", again")
+                .description("First line\nSecond line")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .createdBy(owner)
+                .assignedTo(technician)
+                .commentCount(3)
+                .build());
+        for (int i = 1; i < TICKETS; i++) {
+            ticketRepository.save(Ticket.builder()
+                    .title("Ticket " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.LOW)
+                    .createdBy(i % 2 == 0 ? owner : other)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("CSV has a header, quoted fields and one record per ticket, in one query")
+    void exportsCsv() throws IOException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<String> lines = lines(write(AuthenticatedUser.from(technician), TicketExportFormat.CSV));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(String.join(",", TicketExportRow.COLUMNS), lines.get(0));
+        // the embedded line break splits the first record over two physical lines
+        assertEquals(TICKETS + 2, lines.size());
+        assertTrue(lines.get(1).contains(",\"Printer says \"\"offline\"\", again\",\"First line"));
+        assertTrue(lines.get(2).startsWith("Second line\",OPEN,HIGH,"));
+        assertTrue(lines.get(2).endsWith(",export-owner," + technician.getId() + ",export-tech,3"));
+    }
+
+    @Test
+    @DisplayName("NDJSON has one object per ticket; regular users only get their own")
+    void exportsNdjsonScopedToOwner() throws IOException {
+        List<String> lines = lines(write(AuthenticatedUser.from(owner), TicketExportFormat.NDJSON));
+
+        assertEquals(1 + (TICKETS - 1) / 2, lines.size());
+        for (String line : lines) {
+            JsonNode ticket = objectMapper.readTree(line);
+            assertEquals("export-owner", ticket.get("createdByUsername").asText());
+        }
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("First line\nSecond line", first.get("description").asText());
+        assertEquals("export-tech", first.get("assignedToUsername").asText());
+        assertEquals(3, first.get("commentCount").asInt());
+    }
+
+    @Test
+    @DisplayName("Exports beyond max-concurrent are rejected until one finishes")
+    void limitsConcurrentExports() throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.from(technician);
+        StreamingResponseBody first = ticketExporter.export(user, TicketExportFormat.CSV);
+        StreamingResponseBody second = ticketExporter.export(user, TicketExportFormat.CSV);
+
+        assertThrows(TooManyRequestsException.class,
+            () -> ticketExporter.export(user, TicketExportFormat.CSV));
+
+        first.writeTo(new ByteArrayOutputStream());
+        second.writeTo(new ByteArrayOutputStream());
+        ticketExporter.export(user, TicketExportFormat.CSV).writeTo(new ByteArrayOutputStream());
+    }
+
+    @Test
+    @DisplayName("A slot is given back when the async request completes without running the body")
+    void releasesSlotOfAbandonedExport() throws Exception {
+        AuthenticatedUser user = AuthenticatedUser.from(technician);
+        List<MockHttpServletRequest> requests = List.of(
+            new MockHttpServletRequest(), new MockHttpServletRequest());
+        for (MockHttpServletRequest request : requests) {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                ticketExporter.export(user, TicketExportFormat.CSV);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+        assertThrows(TooManyRequestsException.class,
+            () -> ticketExporter.export(user, TicketExportFormat.CSV));
+
+        // e.g. the client went away before the body was scheduled; completion may repeat
+        MockHttpServletRequest abandoned = requests.get(0);
+        CallableProcessingInterceptor completion = WebAsyncUtils.getAsyncManager(abandoned)
+                .getCallableInterceptor(TicketExporter.class.getName());
+        completion.afterCompletion(new ServletWebRequest(abandoned), null);
+        completion.afterCompletion(new ServletWebRequest(abandoned), null);
+
+        StreamingResponseBody next = ticketExporter.export(user, TicketExportFormat.CSV);
+        assertThrows(TooManyRequestsException.class,
+            () -> ticketExporter.export(user, TicketExportFormat.CSV));
+        next.writeTo(new ByteArrayOutputStream());
+
+        // The exporter outlives this test
+        WebAsyncUtils.getAsyncManager(requests.get(1))
+                .getCallableInterceptor(TicketExporter.class.getName())
+                .afterCompletion(new ServletWebRequest(requests.get(1)), null);
+    }
+
+    @Test
+    @DisplayName("A slot stays held while the body streams past the async completion")
+    void keepsSlotOfExportStillStreaming() throws Exception {
+        AuthenticatedUser user = AuthenticatedUser.from(technician);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        StreamingResponseBody body;
+        try {
+            body = ticketExporter.export(user, TicketExportFormat.CSV);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        StreamingResponseBody other = ticketExporter.export(user, TicketExportFormat.CSV);
+
+        // e.g. the async request timed out while rows are still being written
+        CallableProcessingInterceptor completion = WebAsyncUtils.getAsyncManager(request)
+                .getCallableInterceptor(TicketExporter.class.getName());
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                if (size() == 0) {
+                    try {
+                        completion.afterCompletion(new ServletWebRequest(request), null);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    assertThrows(TooManyRequestsException.class,
+                        () -> ticketExporter.export(user, TicketExportFormat.CSV));
+                }
+                super.write(bytes, offset, length);
+            }
+        };
+        body.writeTo(out);
+        // header, and the first record spans two lines
+        assertEquals(TICKETS + 2, lines(out.toString(StandardCharsets.UTF_8)).size());
+
+        // Given back by the body, and only once
+        other.writeTo(new ByteArrayOutputStream());
+        List<StreamingResponseBody> next = List.of(
+            ticketExporter.export(user, TicketExportFormat.CSV),
+            ticketExporter.export(user, TicketExportFormat.CSV));
+        assertThrows(TooManyRequestsException.class,
+            () -> ticketExporter.export(user, TicketExportFormat.CSV));
+        for (StreamingResponseBody export : next) {
+            export.writeTo(new ByteArrayOutputStream());
+        }
+    }
+
+    private String write(AuthenticatedUser user, TicketExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ticketExporter.export(user, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> lines(String body) {
+        return body.lines().toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.itoffice.ticketsystem.loadtest;
+
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk-loads users, tickets and comments with plain JDBC batches
+ *
+ * Going through the services would take minutes at this volume and fire an
+ * event per row. The data is derived from a fixed seed, so every run loads
+ * the same rows. Deadlines are in the future so the SLA scanner stays idle.
+ */
+final class LoadTestSeeder {
+
+    static final String PASSWORD = "Load@1234";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] SUBJECTS = {
+        "VPN connection drops", "Printer on floor 3 offline", "Outlook keeps asking for password",
+        "Laptop battery swelling", "Cannot access shared drive", "New hire account setup",
+        "Monitor flickers", "Teams audio not working", "Software licence request", "Wi-Fi slow in meeting room"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private final LocalDateTime origin = LocalDateTime.now().minusDays(180);
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    record Dataset(List<SeededUser> users, List<UUID> ticketIds) {
+        SeededUser first(Role role) {
+            return users.stream().filter(user -> user.role() == role).findFirst().orElseThrow();
+        }
+    }
+
+    record SeededUser(UUID id, String username, Role role) {
+    }
+
+    Dataset seed(String passwordHash, int requesters, int technicians, int tickets, int commentsPerTicket) {
+        List<SeededUser> users = new ArrayList<>();
+        users.add(new SeededUser(UUID.randomUUID(), "load-admin", Role.ROLE_ADMIN));
+        for (int i = 0; i < technicians; i++) {
+            users.add(new SeededUser(UUID.randomUUID(), "load-tech-" + i, Role.ROLE_TECHNICIAN));
+        }
+        for (int i = 0; i < requesters; i++) {
+            users.add(new SeededUser(UUID.randomUUID(), "load-user-" + i, Role.ROLE_USER));
+        }
+        insertUsers(users, passwordHash);
+
+        List<SeededUser> techs = users.stream().filter(user -> user.role() == Role.ROLE_TECHNICIAN).toList();
+        List<SeededUser> requesterUsers = users.stream().filter(user -> user.role() == Role.ROLE_USER).toList();
+        List<UUID> ticketIds = new ArrayList<>(tickets);
+        List<Object[]> ticketRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> commentRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < tickets; i++) {
+            UUID ticketId = UUID.randomUUID();
+            ticketIds.add(ticketId);
+            LocalDateTime createdAt = origin.plusSeconds(i * 60L);
+            TicketStatus status = TicketStatus.values()[random.nextInt(TicketStatus.values().length)];
+            SeededUser creator = requesterUsers.get(random.nextInt(requesterUsers.size()));
+            SeededUser assignee = random.nextBoolean() ? techs.get(random.nextInt(techs.size())) : null;
+            ticketRows.add(new Object[] {
+                ticketId,
+                SUBJECTS[i % SUBJECTS.length] + " #" + i,
+                "Reported by " + creator.username() + ": " + SUBJECTS[random.nextInt(SUBJECTS.length)].toLowerCase()
+                    + " since this morning, affects daily work.",
+                status.name(),
+                TicketPriority.values()[random.nextInt(TicketPriority.values().length)].name(),
+                creator.id(),
+                assignee != null ? assignee.id() : null,
+                Timestamp.valueOf(createdAt),
+                Timestamp.valueOf(createdAt),
+                Timestamp.valueOf(LocalDateTime.now().plusDays(30)),
+                commentsPerTicket
+            });
+            for (int c = 0; c < commentsPerTicket; c++) {
+                SeededUser author = c % 2 == 0 || assignee == null ? creator : assignee;
+                commentRows.add(new Object[] {
+                    UUID.randomUUID(), ticketId, author.id(),
+                    "Update " + c + " on this issue from " + author.username(),
+                    Timestamp.valueOf(createdAt.plusMinutes(c + 1))
+                });
+            }
+            if (ticketRows.size() == BATCH_SIZE) {
+                flush(ticketRows, commentRows);
+            }
+        }
+        flush(ticketRows, commentRows);
+        return new Dataset(users, ticketIds);
+    }
+
+    private void insertUsers(List<SeededUser> users, String passwordHash) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (id, username, email, password, role, enabled, token_version, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, TRUE, 0, ?)",
+            users.stream().map(user -> new Object[] {
+                user.id(), user.username(), user.username() + "@load.test", passwordHash,
+                user.role().name(), Timestamp.valueOf(origin)
+            }).toList());
+    }
+
+    private void flush(List<Object[]> ticketRows, List<Object[]> commentRows) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO tickets (id, title, description, status, priority, created_by_id, assigned_to_id,"
+                + " created_at, updated_at, due_at, comment_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            ticketRows);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO comments (id, ticket_id, user_id, content, is_internal, created_at)"
+                + " VALUES (?, ?, ?, ?, FALSE, ?)",
+            commentRows);
+        ticketRows.clear();
+        commentRows.clear();
+    }
+}
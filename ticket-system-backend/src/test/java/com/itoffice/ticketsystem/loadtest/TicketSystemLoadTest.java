@@ -0,0 +1,286 @@
+package com.itoffice.ticketsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
+import com.itoffice.ticketsystem.dto.request.LoginRequest;
+import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.event.TicketOutboxRelay;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: the real HTTP stack against a seeded embedded database
+ *
+ * Seeds loadtest.tickets tickets (default 200,000) with
+ * loadtest.comments-per-ticket comments each, then drives one scenario at a
+ * time from loadtest.clients concurrent clients and reports p50/p99
+ * latency, throughput and SQL statements per request (Hibernate's prepared
+ * statement count over the scenario, including the outbox work its events
+ * cause). Each scenario fails if it exceeds the budgets in
+ * loadtest-budgets.properties; any budget can be overridden with
+ * -Dloadtest.budget.&lt;scenario&gt;.&lt;metric&gt;. Not part of the regular build:
+ *
+ *   mvn -P loadtest test
+ *
+ * Runs on embedded H2 by default; pass -Dspring.datasource.url=... (plus
+ * username, password and driver) to run against a local PostgreSQL.
+ * The report is also written to target/loadtest-report.txt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.com.itoffice.ticketsystem=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TicketSystemLoadTest {
+
+    private static final int TICKETS = Integer.getInteger("loadtest.tickets", 200_000);
+    private static final int COMMENTS_PER_TICKET = Integer.getInteger("loadtest.comments-per-ticket", 2);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2_000);
+    // Every login is a BCrypt check on the bounded hashing pool
+    private static final int LOGINS = Integer.getInteger("loadtest.logins", 200);
+
+    @LocalServerPort private int port;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ObjectProvider<TicketOutboxRelay> outboxRelay;
+
+    private final Properties budgets = new Properties();
+    private final List<String> report = new ArrayList<>();
+    private LoadDriver driver;
+    private Statistics statistics;
+    private LoadTestSeeder.Dataset dataset;
+    private String adminToken;
+    private String requesterToken;
+    private List<LoadTestSeeder.SeededUser> requesters;
+
+    @BeforeAll
+    void seed() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/loadtest-budgets.properties")) {
+            budgets.load(in);
+        }
+        long start = System.nanoTime();
+        dataset = new LoadTestSeeder(jdbcTemplate).seed(
+            passwordEncoder.encode(LoadTestSeeder.PASSWORD), 500, 20, TICKETS, COMMENTS_PER_TICKET);
+        System.out.printf("[loadtest] seeded %,d tickets and %,d comments in %.1f s%n",
+            TICKETS, (long) TICKETS * COMMENTS_PER_TICKET, (System.nanoTime() - start) / 1e9);
+
+        driver = new LoadDriver(HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminToken = token(dataset.first(Role.ROLE_ADMIN));
+        requesterToken = token(dataset.first(Role.ROLE_USER));
+        requesters = dataset.users().stream().filter(user -> user.role() == Role.ROLE_USER).toList();
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        report.add(0, String.format(Locale.ROOT, "%-18s %8s %9s %9s %10s %8s %9s",
+            "scenario", "requests", "p50 ms", "p99 ms", "req/s", "errors", "sql/req"));
+        report.forEach(line -> System.out.println("[loadtest] " + line));
+        Files.write(Path.of("target", "loadtest-report.txt"), report);
+    }
+
+    @Test
+    @Order(1)
+    void listTickets() throws Exception {
+        scenario("list-tickets", REQUESTS, i -> get("/api/tickets?size=20&page=" + (i % 50), adminToken));
+    }
+
+    @Test
+    @Order(2)
+    void listOwnTicketsByCursor() throws Exception {
+        scenario("list-cursor", REQUESTS, i -> get("/api/tickets?cursor=&size=20", requesterToken));
+    }
+
+    @Test
+    @Order(3)
+    void getTicket() throws Exception {
+        scenario("get-ticket", REQUESTS, i -> get("/api/tickets/" + ticket(i), adminToken));
+    }
+
+    @Test
+    @Order(4)
+    void ticketStats() throws Exception {
+        scenario("ticket-stats", REQUESTS, i -> get("/api/tickets/stats", adminToken));
+    }
+
+    @Test
+    @Order(5)
+    void searchTickets() throws Exception {
+        scenario("search-tickets", REQUESTS / 10, i -> get("/api/tickets/search?query=printer&page=" + (i % 5), adminToken));
+    }
+
+    @Test
+    @Order(6)
+    void listComments() throws Exception {
+        scenario("list-comments", REQUESTS, i -> get("/api/tickets/" + ticket(i) + "/comments", adminToken));
+    }
+
+    @Test
+    @Order(7)
+    void createTicket() throws Exception {
+        List<String> tokens = requesters.stream().map(this::token).toList();
+        scenario("create-ticket", REQUESTS, i -> post("/api/tickets", tokens.get(i % tokens.size()),
+            CreateTicketRequest.builder()
+                .title("Load test ticket " + i)
+                .description("Created under load")
+                .priority(TicketPriority.values()[i % TicketPriority.values().length])
+                .build()));
+    }
+
+    @Test
+    @Order(8)
+    void addComment() throws Exception {
+        scenario("add-comment", REQUESTS, i -> post("/api/tickets/" + ticket(i) + "/comments", adminToken,
+            new CreateCommentRequest("Looking into it (" + i + ")")));
+    }
+
+    @Test
+    @Order(9)
+    void updateTicket() throws Exception {
+        scenario("update-ticket", REQUESTS, i -> put("/api/tickets/" + ticket(i), adminToken,
+            UpdateTicketRequest.builder()
+                .status(i % 2 == 0 ? TicketStatus.IN_PROGRESS : TicketStatus.OPEN)
+                .priority(TicketPriority.values()[i % TicketPriority.values().length])
+                .build()));
+    }
+
+    @Test
+    @Order(10)
+    void login() throws Exception {
+        scenario("login", LOGINS, i -> post("/api/auth/login", null, LoginRequest.builder()
+                .username(requesters.get(i % requesters.size()).username())
+                .password(LoadTestSeeder.PASSWORD)
+                .build()));
+    }
+
+    private void scenario(String name, int requests, IntFunction<HttpRequest> requestFor) throws Exception {
+        driver.run(Math.min(CLIENTS, requests), Math.max(1, requests / 10), requestFor);
+        drainOutbox();
+
+        statistics.clear();
+        LoadDriver.Result result = driver.run(CLIENTS, requests, requestFor);
+        drainOutbox();
+        double sqlPerRequest = (double) statistics.getPrepareStatementCount() / result.requests();
+
+        report.add(String.format(Locale.ROOT, "%-18s %8d %9.1f %9.1f %10.1f %8d %9.2f",
+            name, result.requests(), result.percentileMs(50), result.percentileMs(99),
+            result.throughput(), result.errors(), sqlPerRequest));
+
+        assertAll(name,
+            () -> assertTrue(result.errorRate() <= budget(name, "max-error-rate"),
+                "error rate " + result.errorRate()),
+            () -> assertTrue(result.percentileMs(99) <= budget(name, "p99-ms"),
+                String.format(Locale.ROOT, "p99 %.1f ms", result.percentileMs(99))),
+            () -> assertTrue(result.throughput() >= budget(name, "min-throughput"),
+                String.format(Locale.ROOT, "throughput %.1f req/s", result.throughput())),
+            () -> assertTrue(sqlPerRequest <= budget(name, "sql-per-request"),
+                String.format(Locale.ROOT, "%.2f SQL statements per request", sqlPerRequest)));
+    }
+
+    // Events raised by write scenarios are relayed before the statement count is read
+    private void drainOutbox() {
+        TicketOutboxRelay relay = outboxRelay.getIfAvailable();
+        if (relay != null) {
+            relay.drain();
+        }
+    }
+
+    private double budget(String scenario, String metric) {
+        String key = "loadtest.budget." + scenario + "." + metric;
+        String value = System.getProperty(key, budgets.getProperty(key,
+            budgets.getProperty("loadtest.budget.default." + metric)));
+        assertNotNull(value, "no budget for " + key);
+        return Double.parseDouble(value);
+    }
+
+    private UUID ticket(int i) {
+        return dataset.ticketIds().get((int) ((i * 7_919L) % dataset.ticketIds().size()));
+    }
+
+    private String token(LoadTestSeeder.SeededUser user) {
+        return jwtUtil.generateToken(new AuthenticatedUser(user.id(), user.username(), user.role(), true, 0));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    private HttpRequest put(String path, String token, Object body) {
+        return request(path, token).PUT(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
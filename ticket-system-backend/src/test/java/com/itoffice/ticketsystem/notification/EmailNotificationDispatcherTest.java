@@ -0,0 +1,158 @@
+package com.itoffice.ticketsystem.notification;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import com.itoffice.ticketsystem.repository.projection.UserContact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailNotificationDispatcher Tests")
+class EmailNotificationDispatcherTest {
+
+    @Mock private TicketRepository ticketRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private JavaMailSender mailSender;
+
+    private EmailNotificationDispatcher dispatcher;
+    private UUID ticketId;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailNotificationDispatcher(ticketRepository, userRepository, mailSender,
+            "noreply@test.com", 100, Duration.ofHours(1), 3, Duration.ZERO);
+        ticketId = UUID.randomUUID();
+        when(ticketRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(new TicketSummary(
+            ticketId, "Printer jammed", null, TicketStatus.OPEN, TicketPriority.LOW,
+            null, null, null, null,
+            UUID.randomUUID(), "alice", "alice@test.com", Role.ROLE_USER, true, null,
+            null, null, null, null, null, null,
+            0L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    @DisplayName("A failed digest is retried and keeps collecting updates")
+    void retriesFailedDigest() {
+        doThrow(new MailSendException("connection refused"))
+            .doNothing()
+            .when(mailSender).send(any(SimpleMailMessage.class));
+
+        dispatcher.onTicketEvent(event(TicketEventType.CREATED, "alice"));
+        assertEquals(0, dispatcher.flush());
+
+        dispatcher.onTicketEvent(event(TicketEventType.COMMENT_ADDED, "tom"));
+        assertEquals(1, dispatcher.flush());
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, times(2)).send(sent.capture());
+        assertEquals("[IT Tickets] 1 ticket update", sent.getAllValues().get(0).getSubject());
+        assertEquals("[IT Tickets] 2 ticket updates", sent.getAllValues().get(1).getSubject());
+    }
+
+    @Test
+    @DisplayName("A digest is dropped after the last attempt")
+    void givesUpAfterMaxAttempts() {
+        doThrow(new MailSendException("connection refused"))
+            .when(mailSender).send(any(SimpleMailMessage.class));
+
+        dispatcher.onTicketEvent(event(TicketEventType.CREATED, "alice"));
+        for (int attempt = 0; attempt < 4; attempt++) {
+            assertEquals(0, dispatcher.flush());
+        }
+
+        verify(mailSender, times(3)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    @DisplayName("Each reassignment in one digest window notifies the assignee it named")
+    void addressesAssignmentsFromTheEvent() {
+        UserContact bob = contact("bob");
+        UserContact carol = contact("carol");
+        when(userRepository.findContactsByIdIn(anyCollection())).thenReturn(List.of(bob, carol));
+        // By the time the digest runs the ticket is already assigned to carol
+        when(ticketRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(new TicketSummary(
+            ticketId, "Printer jammed", null, TicketStatus.OPEN, TicketPriority.LOW,
+            null, null, null, null,
+            UUID.randomUUID(), "alice", "alice@test.com", Role.ROLE_USER, true, null,
+            carol.getId(), "carol", "carol@test.com", Role.ROLE_TECHNICIAN, true, null,
+            0L)));
+
+        dispatcher.onTicketEvent(reassignment(null, bob));
+        dispatcher.onTicketEvent(reassignment(bob, carol));
+        assertEquals(3, dispatcher.flush());
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, times(3)).send(sent.capture());
+        Map<String, String> bodies = sent.getAllValues().stream()
+            .collect(Collectors.toMap(message -> message.getTo()[0], SimpleMailMessage::getText));
+        assertTrue(bodies.get("bob@test.com").contains("There is 1 update"));
+        assertTrue(bodies.get("bob@test.com").contains("assigned to you by boss"));
+        assertTrue(bodies.get("carol@test.com").contains("There is 1 update"));
+        assertTrue(bodies.get("alice@test.com").contains("assigned to bob by boss"));
+        assertTrue(bodies.get("alice@test.com").contains("assigned to carol by boss"));
+    }
+
+    private TicketEvent reassignment(UserContact from, UserContact to) {
+        return TicketEvent.builder()
+                .type(TicketEventType.UPDATED)
+                .ticketId(ticketId)
+                .actor("boss")
+                .before(snapshot(from))
+                .after(snapshot(to))
+                .build();
+    }
+
+    private static TicketSnapshot snapshot(UserContact assignee) {
+        return TicketSnapshot.builder()
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.LOW)
+                .assigneeId(assignee != null ? assignee.getId() : null)
+                .assigneeUsername(assignee != null ? assignee.getUsername() : null)
+                .build();
+    }
+
+    private static UserContact contact(String username) {
+        UUID id = UUID.randomUUID();
+        return new UserContact() {
+            public UUID getId() { return id; }
+            public String getUsername() { return username; }
+            public String getEmail() { return username + "@test.com"; }
+        };
+    }
+
+    private TicketEvent event(TicketEventType type, String actor) {
+        return TicketEvent.builder().type(type).ticketId(ticketId).actor(actor).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.itoffice.ticketsystem.notification;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
+import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.event.TicketOutboxRelay;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.service.CommentService;
+import com.itoffice.ticketsystem.service.TicketService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+    "app.notifications.email.enabled=true",
+    "app.notifications.email.digest-interval=1h",
+    "spring.mail.host=localhost",
+    "spring.mail.port=3025"
+})
+@DisplayName("Email notification digest Tests")
+class EmailNotificationIntegrationTest extends BaseIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired private EmailNotificationDispatcher dispatcher;
+    @Autowired private TicketOutboxRelay relay;
+    @Autowired private TicketService ticketService;
+    @Autowired private CommentService commentService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private CommentRepository commentRepository;
+
+    private User creator;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        creator = createTestUser("alice", Role.ROLE_USER);
+        technician = createTestUser("tom", Role.ROLE_TECHNICIAN);
+        createTestUser("boss", Role.ROLE_MANAGER);
+        relay.drain();
+        dispatcher.flush();
+    }
+
+    @Test
+    @DisplayName("Updates to the same recipient are coalesced into one digest")
+    void sendsOneDigestPerRecipient() throws Exception {
+        TicketResponse ticket = ticketService.createTicket(CreateTicketRequest.builder()
+                .title("Laptop will not boot")
+                .priority(TicketPriority.HIGH)
+                .build(), "alice");
+        ticketService.updateTicket(ticket.getId(), UpdateTicketRequest.builder()
+                .assignedToId(technician.getId())
+                .status(TicketStatus.IN_PROGRESS)
+                .build(), "boss");
+        commentService.addComment(ticket.getId(),
+            CreateCommentRequest.builder().content("On my way").build(), "tom");
+
+        assertEquals(0, smtp.getReceivedMessages().length, "nothing is sent on the request path");
+        relay.drain();
+        assertEquals(2, dispatcher.flush());
+
+        MimeMessage toCreator = only(smtp.getReceivedMessagesForDomain(creator.getEmail()));
+        String creatorBody = GreenMailUtil.getBody(toCreator);
+        assertEquals("[IT Tickets] 4 ticket updates", toCreator.getSubject());
+        assertTrue(creatorBody.contains("created with HIGH priority"));
+        assertTrue(creatorBody.contains("assigned to tom by boss"));
+        assertTrue(creatorBody.contains("status changed from OPEN to IN_PROGRESS by boss"));
+        assertTrue(creatorBody.contains("new comment by tom"));
+
+        MimeMessage toTechnician = only(smtp.getReceivedMessagesForDomain(technician.getEmail()));
+        assertEquals("[IT Tickets] 2 ticket updates", toTechnician.getSubject());
+        assertFalse(GreenMailUtil.getBody(toTechnician).contains("new comment"));
+
+        assertEquals(0, smtp.getReceivedMessagesForDomain("boss@test.com").length);
+    }
+
+    private static MimeMessage only(MimeMessage[] messages) {
+        assertEquals(1, messages.length);
+        return messages[0];
+    }
+}
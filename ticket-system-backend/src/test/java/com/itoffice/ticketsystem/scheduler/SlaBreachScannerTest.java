@@ -0,0 +1,70 @@
+package com.itoffice.ticketsystem.scheduler;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@DisplayName("SlaBreachScanner Tests")
+class SlaBreachScannerTest extends BaseIntegrationTest {
+
+    @Autowired private SlaBreachScanner scanner;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private EntityManager entityManager;
+
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        creator = createTestUser("sla-user", Role.ROLE_USER);
+    }
+
+    @Test
+    @DisplayName("Breaches are stamped once and closed tickets are ignored")
+    void reportsEachBreachOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket overdue = save(TicketStatus.OPEN, now.minusMinutes(5));
+        Ticket inProgress = save(TicketStatus.IN_PROGRESS, now.minusHours(2));
+        Ticket closed = save(TicketStatus.CLOSED, now.minusHours(2));
+        Ticket notDue = save(TicketStatus.OPEN, now.plusHours(1));
+
+        assertEquals(2, scanner.scan());
+        assertEquals(0, scanner.scan());
+
+        entityManager.clear();
+        assertNotNull(reload(overdue).getSlaBreachedAt());
+        assertNotNull(reload(inProgress).getSlaBreachedAt());
+        assertNull(reload(closed).getSlaBreachedAt());
+        assertNull(reload(notDue).getSlaBreachedAt());
+    }
+
+    private Ticket save(TicketStatus status, LocalDateTime dueAt) {
+        return ticketRepository.saveAndFlush(Ticket.builder()
+                .title("SLA " + status)
+                .status(status)
+                .priority(TicketPriority.HIGH)
+                .createdBy(creator)
+                .dueAt(dueAt)
+                .build());
+    }
+
+    private Ticket reload(Ticket ticket) {
+        return ticketRepository.findById(ticket.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,190 @@
+package com.itoffice.ticketsystem.search;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.CommentText;
+import com.itoffice.ticketsystem.repository.projection.TicketSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryTicketSearchEngine Tests")
+class InMemoryTicketSearchEngineTest {
+
+    @Mock private TicketRepository ticketRepository;
+    @Mock private CommentRepository commentRepository;
+
+    @InjectMocks
+    private InMemoryTicketSearchEngine engine;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID vpnTicket = UUID.randomUUID();
+    private final UUID printerTicket = UUID.randomUUID();
+    private final UUID laptopTicket = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        when(ticketRepository.streamSearchDocuments()).thenReturn(Stream.of(
+            document(vpnTicket, "VPN drops hourly", "Since the printer driver update", alice, now.minusHours(3)),
+            document(printerTicket, "Printer offline", "Second floor", bob, now.minusHours(2)),
+            document(laptopTicket, "Laptop battery", null, alice, now.minusHours(1))));
+        when(commentRepository.streamAllContent()).thenReturn(Stream.of(
+            comment(laptopTicket, "Swelling visible, replace urgently")));
+
+        engine.buildIndex();
+    }
+
+    @Test
+    @DisplayName("Title matches rank above description matches")
+    void titleMatchesRankFirst() {
+        Page<UUID> hits = engine.search("printer", null, PageRequest.of(0, 10));
+
+        assertEquals(List.of(printerTicket, vpnTicket), hits.getContent());
+        assertEquals(2, hits.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Tokens match term prefixes and must all be present")
+    void tokensArePrefixesAndConjunctive() {
+        assertEquals(List.of(vpnTicket),
+            engine.search("prin upd", null, PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(laptopTicket),
+            engine.search("SWELL", null, PageRequest.of(0, 10)).getContent());
+        assertTrue(engine.search("printer battery", null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Owner filter hides other users' tickets")
+    void ownerFilterApplies() {
+        Page<UUID> hits = engine.search("printer", alice, PageRequest.of(0, 10));
+
+        assertEquals(List.of(vpnTicket), hits.getContent());
+    }
+
+    @Test
+    @DisplayName("After-commit events update and remove documents")
+    void eventsUpdateIndex() {
+        when(ticketRepository.findSearchDocumentById(printerTicket)).thenReturn(Optional.of(
+            document(printerTicket, "Scanner offline", "Second floor", bob, LocalDateTime.now())));
+        when(commentRepository.findContentByTicketId(printerTicket)).thenReturn(List.of());
+
+        engine.onTicketEvent(TicketEvent.builder()
+            .type(TicketEventType.UPDATED).ticketId(printerTicket).build());
+
+        assertEquals(List.of(vpnTicket),
+            engine.search("printer", null, PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(printerTicket),
+            engine.search("scanner", null, PageRequest.of(0, 10)).getContent());
+
+        engine.onTicketEvent(TicketEvent.builder()
+            .type(TicketEventType.DELETED).ticketId(printerTicket).build());
+
+        assertTrue(engine.search("scanner", null, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(2, engine.size());
+    }
+
+    @Test
+    @DisplayName("Terms left without postings are dropped from the dictionary")
+    void unusedTermsArePruned() {
+        int baseline = engine.termCount();
+        when(ticketRepository.findSearchDocumentById(printerTicket)).thenReturn(Optional.of(
+            document(printerTicket, "Plotter jammed", "Second floor", bob, LocalDateTime.now())));
+        when(commentRepository.findContentByTicketId(printerTicket)).thenReturn(List.of());
+
+        for (int i = 0; i < 3; i++) {
+            engine.reindex(printerTicket);
+        }
+        // "offline" is gone; "printer" survives in the VPN ticket's description
+        assertEquals(baseline + 1, engine.termCount());
+        assertTrue(engine.search("offline", null, PageRequest.of(0, 10)).isEmpty());
+
+        engine.remove(printerTicket);
+        engine.remove(laptopTicket);
+        assertEquals(List.of(vpnTicket),
+            engine.search("printer", null, PageRequest.of(0, 10)).getContent());
+        assertTrue(engine.search("plotter", null, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(engine.search("swell", null, PageRequest.of(0, 10)).isEmpty());
+        // vpn, drops, hourly, since, the, printer, driver, update
+        assertEquals(8, engine.termCount());
+
+        when(ticketRepository.findSearchDocumentById(laptopTicket)).thenReturn(Optional.of(
+            document(laptopTicket, "Laptop battery", null, alice, LocalDateTime.now())));
+        when(commentRepository.findContentByTicketId(laptopTicket)).thenReturn(List.of());
+        engine.reindex(laptopTicket);
+        assertEquals(List.of(laptopTicket),
+            engine.search("batt", null, PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("Concurrent reloads of one ticket apply in load order")
+    void concurrentReindexesAreSerialized() throws Exception {
+        CountDownLatch firstLoading = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(commentRepository.findContentByTicketId(printerTicket)).thenReturn(List.of());
+        when(ticketRepository.findSearchDocumentById(printerTicket)).thenAnswer(invocation -> {
+            if (loads.getAndIncrement() == 0) {
+                // The first reload read the older committed state and is slow to apply it
+                firstLoading.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+                return Optional.of(document(printerTicket, "Scanner offline", null, bob, LocalDateTime.now()));
+            }
+            return Optional.of(document(printerTicket, "Plotter offline", null, bob, LocalDateTime.now()));
+        });
+
+        Thread first = Thread.ofVirtual().start(() -> engine.reindex(printerTicket));
+        assertTrue(firstLoading.await(5, TimeUnit.SECONDS));
+        Thread second = Thread.ofVirtual().start(() -> engine.reindex(printerTicket));
+        while (second.isAlive() && second.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(List.of(printerTicket),
+            engine.search("plotter", null, PageRequest.of(0, 10)).getContent());
+        assertTrue(engine.search("scanner", null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private TicketSearchDocument document(UUID id, String title, String description,
+                                          UUID createdById, LocalDateTime createdAt) {
+        return new TicketSearchDocument() {
+            public UUID getId() { return id; }
+            public String getTitle() { return title; }
+            public String getDescription() { return description; }
+            public UUID getCreatedById() { return createdById; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+        };
+    }
+
+    private CommentText comment(UUID ticketId, String content) {
+        return new CommentText() {
+            public UUID getTicketId() { return ticketId; }
+            public String getContent() { return content; }
+        };
+    }
+}
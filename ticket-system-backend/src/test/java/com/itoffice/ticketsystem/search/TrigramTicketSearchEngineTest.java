@@ -0,0 +1,139 @@
+package com.itoffice.ticketsystem.search;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the trigram engine's native query against a real PostgreSQL, with the
+ * schema built by the Flyway migrations (V2 creates pg_trgm and its indexes)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Trigram search on PostgreSQL")
+class TrigramTicketSearchEngineTest extends BaseIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("app.search.engine", () -> "trigram");
+    }
+
+    @Autowired private TicketSearchEngine searchEngine;
+    @Autowired private TicketService ticketService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = createTestUser("trgm-owner", Role.ROLE_USER);
+        admin = createTestUser("trgm-admin", Role.ROLE_ADMIN);
+        User other = createTestUser("trgm-other", Role.ROLE_USER);
+
+        save(owner, "Printer offline", "Second floor");
+        save(owner, "VPN drops hourly", "Started after the printer driver update");
+        save(other, "Printer toner empty", "Third floor");
+        save(other, "Monitor flickers", "100% brightness_only");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Migrations install pg_trgm and the GIN indexes")
+    void migrationsCreateTrigramIndexes() {
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class));
+        List<String> indexes = jdbcTemplate.queryForList(
+            "SELECT indexname FROM pg_indexes WHERE tablename = 'tickets' AND indexdef LIKE '%gin_trgm_ops%'",
+            String.class);
+        assertTrue(indexes.containsAll(List.of("idx_ticket_title_trgm", "idx_ticket_description_trgm")));
+    }
+
+    @Test
+    @DisplayName("Title matches rank first, and a misspelled term still matches by similarity")
+    void ranksAndMatchesFuzzily() {
+        assertInstanceOf(TrigramTicketSearchEngine.class, searchEngine);
+
+        List<String> titles = titles(ticketService.searchTickets("printer", admin.getUsername(),
+            PageRequest.of(0, 10)));
+        assertEquals(3, titles.size());
+        assertEquals("VPN drops hourly", titles.get(2));
+
+        assertTrue(titles(ticketService.searchTickets("printr offline", admin.getUsername(),
+            PageRequest.of(0, 10))).contains("Printer offline"));
+    }
+
+    @Test
+    @DisplayName("Owner filter binds both a null and a concrete id")
+    void filtersByOwner() {
+        Page<UUID> all = searchEngine.search("printer", null, PageRequest.of(0, 10));
+        Page<UUID> own = searchEngine.search("printer", owner.getId(), PageRequest.of(0, 1));
+
+        assertEquals(3, all.getTotalElements());
+        assertEquals(2, own.getTotalElements());
+        assertEquals(1, own.getContent().size());
+    }
+
+    @Test
+    @DisplayName("LIKE wildcards in the term are matched literally")
+    void escapesWildcards() {
+        assertEquals(1, searchEngine.search("100%", null, PageRequest.of(0, 10)).getTotalElements());
+        // unescaped, these would match "Printer offline" and "100% brightness"
+        assertEquals(0, searchEngine.search("r_o", null, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, searchEngine.search("0%b", null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private void save(User creator, String title, String description) {
+        ticketRepository.save(Ticket.builder()
+                .title(title)
+                .description(description)
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.MEDIUM)
+                .createdBy(creator)
+                .build());
+    }
+
+    private static List<String> titles(Page<TicketResponse> page) {
+        return page.getContent().stream().map(TicketResponse::getTitle).toList();
+    }
+}
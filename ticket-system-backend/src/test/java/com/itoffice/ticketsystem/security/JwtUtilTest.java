@@ -0,0 +1,105 @@
+package com.itoffice.ticketsystem.security;
+
+import com.itoffice.ticketsystem.model.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET =
+        "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(86_400_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil.bindTo(meterRegistry);
+        userDetails = new User("alice", "password", Collections.emptyList());
+    }
+
+    @Test
+    @DisplayName("Verified tokens are served from the cache on repeat")
+    void repeatVerificationHitsCache() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        assertSame(first, second);
+        assertEquals("alice", first.getSubject());
+        assertTrue(jwtUtil.isTokenValid(first, userDetails));
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", "jwt.verified").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Tampered tokens are rejected")
+    void tamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Expired tokens are rejected and never cached")
+    void expiredTokenIsRejected() {
+        JwtUtil shortLived = newJwtUtil(-1_000L);
+        String token = shortLived.generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> shortLived.verify(token));
+    }
+
+    @Test
+    @DisplayName("Identity claims round-trip into the principal")
+    void identityClaimsRoundTrip() {
+        AuthenticatedUser user = new AuthenticatedUser(
+            UUID.randomUUID(), "bob", Role.ROLE_TECHNICIAN, true, 3);
+
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        assertEquals(Optional.of(user), jwtUtil.toPrincipal(token));
+        assertTrue(jwtUtil.toPrincipal(
+            jwtUtil.verify(jwtUtil.generateToken(userDetails))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Claims resolvers read the cached claims")
+    void extractClaimReadsCachedClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertEquals("alice", jwtUtil.extractClaim(token, Claims::getSubject));
+        assertEquals(jwtUtil.extractExpiration(token), jwtUtil.extractClaim(token, Claims::getExpiration));
+        assertSame(jwtUtil.verify(token).getClaims(), jwtUtil.extractClaim(token, claims -> claims));
+    }
+
+    private JwtUtil newJwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}
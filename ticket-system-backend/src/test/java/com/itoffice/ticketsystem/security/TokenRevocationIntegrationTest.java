@@ -0,0 +1,72 @@
+package com.itoffice.ticketsystem.security;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@DisplayName("Token version revocation")
+class TokenRevocationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        user = createTestUser("revocation-user", Role.ROLE_USER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Role change revokes tokens issued before it")
+    void roleChangeRevokesTokens() throws Exception {
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        assertAccepted(token);
+
+        userService.updateUserRole(user.getId(), Role.ROLE_TECHNICIAN);
+
+        assertRejected(token);
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        assertAccepted(jwtUtil.generateToken(AuthenticatedUser.from(updated)));
+    }
+
+    @Test
+    @DisplayName("Disabling a user revokes their tokens")
+    void disableRevokesTokens() throws Exception {
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        assertAccepted(token);
+
+        userService.toggleUserEnabled(user.getId());
+
+        assertRejected(token);
+    }
+
+    private void assertAccepted(String token) throws Exception {
+        mockMvc.perform(get("/api/tickets").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private void assertRejected(String token) throws Exception {
+        mockMvc.perform(get("/api/tickets").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -4,8 +4,14 @@ import com.itoffice.ticketsystem.dto.request.LoginRequest;
 import com.itoffice.ticketsystem.dto.request.RegisterRequest;
 import com.itoffice.ticketsystem.dto.response.AuthResponse;
 import com.itoffice.ticketsystem.dto.response.UserResponse;
+import com.itoffice.ticketsystem.exception.TooManyRequestsException;
+import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.BoundedPasswordEncoder;
 import com.itoffice.ticketsystem.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,17 +21,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Collections;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,14 +53,17 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private AuthService authService;
 
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
-    private UserDetails mockUserDetails;
+    private User mockUser;
 
     @BeforeEach
     void setUp() {
@@ -64,12 +78,14 @@ class AuthServiceTest {
                 .password("Test@1234")
                 .build();
 
-        mockUserDetails = new org.springframework.security.core.userdetails.User(
-                "testuser",
-                "encodedPassword",
-                Collections.singletonList(
-                    new SimpleGrantedAuthority("ROLE_USER"))
-        );
+        mockUser = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .email("test@test.com")
+                .password("encodedPassword")
+                .role(Role.ROLE_USER)
+                .enabled(true)
+                .build();
     }
 
     @Test
@@ -85,9 +101,9 @@ class AuthServiceTest {
 
         when(userService.createUser(any(RegisterRequest.class), any(Role.class)))
                 .thenReturn(mockUserResponse);
-        when(userDetailsService.loadUserByUsername(anyString()))
-                .thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class)))
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(mockUser));
+        when(jwtUtil.generateToken(any(AuthenticatedUser.class)))
                 .thenReturn("mockJwtToken");
 
         // Act
@@ -99,7 +115,7 @@ class AuthServiceTest {
         assertEquals("testuser", response.getUser().getUsername());
         verify(userService, times(1))
             .createUser(any(RegisterRequest.class), eq(Role.ROLE_USER));
-        verify(jwtUtil, times(1)).generateToken(any(UserDetails.class));
+        verify(jwtUtil, times(1)).generateToken(any(AuthenticatedUser.class));
     }
 
     @Test
@@ -116,11 +132,11 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(
             any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(null);
-        when(userDetailsService.loadUserByUsername(anyString()))
-                .thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any(UserDetails.class)))
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(mockUser));
+        when(jwtUtil.generateToken(any(AuthenticatedUser.class)))
                 .thenReturn("mockJwtToken");
-        when(userService.getUserByUsername(anyString()))
+        when(userService.mapToUserResponse(mockUser))
                 .thenReturn(mockUserResponse);
 
         // Act
@@ -143,6 +159,71 @@ class AuthServiceTest {
         // Act & Assert
         assertThrows(BadCredentialsException.class,
             () -> authService.login(loginRequest));
-        verify(jwtUtil, never()).generateToken(any());
+        verify(jwtUtil, never()).generateToken(any(AuthenticatedUser.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the retry hint when the provider wraps a saturated encoder")
+    void shouldUnwrapTooManyRequests() {
+        TooManyRequestsException saturated = new TooManyRequestsException("busy", 3);
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new InternalAuthenticationServiceException("busy", saturated));
+
+        assertSame(saturated, assertThrows(TooManyRequestsException.class,
+            () -> authService.login(loginRequest)));
+    }
+
+    @Test
+    @DisplayName("Should answer 429 for an unknown username while hashing is saturated")
+    void shouldRejectUnknownUsernameWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 3);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        encoder.bindTo(meterRegistry);
+        UserDetailsService users = username -> {
+            throw new UsernameNotFoundException(username);
+        };
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(users);
+        provider.setPasswordEncoder(encoder);
+        AuthService service = new AuthService(userService, jwtUtil,
+            new ProviderManager(provider), userRepository, refreshTokenService);
+
+        try {
+            CompletableFuture.runAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture.runAsync(() -> encoder.encode("b"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("auth.password.hash.queue").gauge().value() < 1) {
+                assertTrue(System.nanoTime() < deadline, "task never queued");
+                Thread.sleep(5);
+            }
+
+            TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> service.login(loginRequest));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            verify(jwtUtil, never()).generateToken(any(AuthenticatedUser.class));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
     }
 }
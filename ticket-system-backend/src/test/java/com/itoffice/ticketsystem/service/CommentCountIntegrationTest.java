@@ -0,0 +1,116 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.response.CommentResponse;
+import com.itoffice.ticketsystem.model.Comment;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.scheduler.CommentCountReconciler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Denormalized comment count")
+class CommentCountIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired private CommentService commentService;
+    @Autowired private CommentCountReconciler reconciler;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private TicketDetailCache ticketDetailCache;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = createTestUser("count-owner", Role.ROLE_USER);
+        ticket = ticketRepository.save(Ticket.builder()
+                .title("Printer jammed")
+                .priority(TicketPriority.LOW)
+                .createdBy(owner)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Adding and deleting comments keeps the count in step")
+    void addAndDeleteAdjustCount() {
+        CommentResponse first = commentService.addComment(ticket.getId(),
+            new CreateCommentRequest("first"), owner.getUsername());
+        commentService.addComment(ticket.getId(),
+            new CreateCommentRequest("second"), owner.getUsername());
+        assertEquals(2, reloadCount());
+
+        commentService.deleteComment(first.getId(), owner.getUsername());
+        assertEquals(1, reloadCount());
+    }
+
+    @Test
+    @DisplayName("Reconciler repairs comments written behind the service's back")
+    void reconcilerRepairsDrift() {
+        commentRepository.save(Comment.builder()
+                .ticket(ticket)
+                .user(owner)
+                .content("imported")
+                .build());
+        assertEquals(0, reloadCount());
+
+        assertEquals(1, reconciler.reconcile());
+        assertEquals(1, reloadCount());
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    @DisplayName("Reconciler walks tickets in keyed batches and rewrites only drifted counts")
+    void reconcilerRepairsAcrossBatches() {
+        commentService.addComment(ticket.getId(),
+            new CreateCommentRequest("counted"), owner.getUsername());
+        for (int i = 0; i < 4; i++) {
+            Ticket other = ticketRepository.save(Ticket.builder()
+                    .title("Imported " + i)
+                    .priority(TicketPriority.LOW)
+                    .createdBy(owner)
+                    .build());
+            for (int c = 0; c <= i; c++) {
+                commentRepository.save(Comment.builder()
+                        .ticket(other)
+                        .user(owner)
+                        .content("imported " + c)
+                        .build());
+            }
+        }
+        CommentCountReconciler smallBatches = new CommentCountReconciler(ticketRepository,
+            commentRepository, ticketDetailCache, transactionManager, false, 2);
+
+        assertEquals(4, smallBatches.reconcile());
+        assertEquals(1, reloadCount());
+        ticketRepository.findAll().forEach(repaired ->
+            assertEquals(commentRepository.countByTicket(repaired), repaired.getCommentCount()));
+        assertEquals(0, smallBatches.reconcile());
+    }
+
+    private long reloadCount() {
+        return ticketRepository.findById(ticket.getId())
+            .orElseThrow()
+            .getCommentCount();
+    }
+}
@@ -0,0 +1,93 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.exception.ConflictException;
+import com.itoffice.ticketsystem.exception.UnauthorizedException;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Refresh token rotation")
+class RefreshTokenRotationTest extends BaseIntegrationTest {
+
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        user = createTestUser("refresh-user", Role.ROLE_USER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Of two tabs refreshing with the same token, one rotates and the other gets a conflict")
+    void concurrentRefreshesKeepTheFamily() throws Exception {
+        String token = refreshTokenService.issue(user);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<String> refresh = () -> {
+            start.await();
+            return refreshTokenService.rotate(token).getRefreshToken();
+        };
+
+        List<Future<String>> results;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            results = List.of(executor.submit(refresh), executor.submit(refresh));
+            start.countDown();
+        }
+
+        List<String> rotated = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<String> result : results) {
+            try {
+                rotated.add(result.get());
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+        assertEquals(1, rotated.size());
+        assertEquals(1, conflicts);
+        // The family survives: the loser retries with the winner's token
+        assertNotNull(refreshTokenService.rotate(rotated.get(0)).getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("A replay within the grace window is rejected once the family is revoked")
+    void replayOfRevokedFamilyIsRejected() {
+        String token = refreshTokenService.issue(user);
+        String successor = refreshTokenService.rotate(token).getRefreshToken();
+
+        user.setEnabled(false);
+        userRepository.save(user);
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(successor));
+        user.setEnabled(true);
+        userRepository.save(user);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(token));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(successor));
+    }
+}
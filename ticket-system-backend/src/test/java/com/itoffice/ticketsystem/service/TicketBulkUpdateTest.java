@@ -0,0 +1,203 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.BulkUpdateTicketsRequest;
+import com.itoffice.ticketsystem.dto.response.BulkUpdateTicketsResponse;
+import com.itoffice.ticketsystem.exception.BadRequestException;
+import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
+import com.itoffice.ticketsystem.exception.UnauthorizedException;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketOutboxRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = "app.events.outbox.background-drain=false")
+@DisplayName("Bulk ticket updates")
+class TicketBulkUpdateTest extends BaseIntegrationTest {
+
+    // More than two JDBC batches at hibernate.jdbc.batch_size 20
+    private static final int TICKETS = 50;
+
+    @Autowired private TicketService ticketService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private TicketOutboxRepository outboxRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User manager;
+    private User technician;
+    private List<UUID> ticketIds;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createTestUser("bulk-owner", Role.ROLE_USER);
+        manager = createTestUser("bulk-manager", Role.ROLE_MANAGER);
+        technician = createTestUser("bulk-tech", Role.ROLE_TECHNICIAN);
+
+        ticketIds = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            ticketIds.add(ticketRepository.save(Ticket.builder()
+                    .title("Laptop " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.LOW)
+                    .createdBy(owner)
+                    .build()).getId());
+        }
+        principalCache.find(manager.getUsername());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Loads in one query and writes the updates in JDBC batches")
+    void batchesUpdates() {
+        // Cold second-level cache, so the assignee lookup is a select
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        BulkUpdateTicketsResponse response = ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds)
+                .status(TicketStatus.IN_PROGRESS)
+                .priority(TicketPriority.HIGH)
+                .assignedToId(technician.getId())
+                .build(),
+            manager.getUsername());
+
+        assertEquals(TICKETS, response.getRequested());
+        assertEquals(TICKETS, response.getUpdated());
+        assertEquals(TICKETS, statistics.getEntityUpdateCount());
+        assertEquals(TICKETS, statistics.getEntityInsertCount());
+        // IN select, assignee lookup, then one UPDATE and one outbox INSERT that
+        // every batch reuses, plus the sequence calls for the outbox ids (a pooled
+        // block of 50 may straddle two); without batching each row would prepare
+        // its own statements
+        assertEquals(1, statistics.getQueryExecutionCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements >= 5 && statements <= 6, "prepared " + statements);
+        assertEquals(TICKETS, outboxRepository.count());
+
+        ticketRepository.findByIdIn(ticketIds).forEach(ticket -> {
+            assertEquals(TicketStatus.IN_PROGRESS, ticket.getStatus());
+            assertEquals(TicketPriority.HIGH, ticket.getPriority());
+            assertEquals(technician.getId(), ticket.getAssignedTo().getId());
+            assertNotNull(ticket.getDueAt());
+        });
+    }
+
+    @Test
+    @DisplayName("Tickets already in the requested state are not written")
+    void skipsUnchanged() {
+        ticketService.bulkUpdateTickets(BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds.subList(0, 10))
+                .status(TicketStatus.RESOLVED)
+                .build(),
+            manager.getUsername());
+
+        List<UUID> withDuplicates = new ArrayList<>(ticketIds);
+        withDuplicates.add(ticketIds.get(0));
+        statistics.clear();
+        BulkUpdateTicketsResponse response = ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(withDuplicates)
+                .status(TicketStatus.RESOLVED)
+                .build(),
+            technician.getUsername());
+
+        assertEquals(TICKETS, response.getRequested());
+        assertEquals(TICKETS - 10, response.getUpdated());
+        assertEquals(TICKETS - 10, statistics.getEntityUpdateCount());
+        ticketRepository.findByIdIn(ticketIds).forEach(ticket ->
+            assertNotNull(ticket.getResolvedAt()));
+    }
+
+    @Test
+    @DisplayName("Owners may reprioritize their own tickets but not change status")
+    void regularUserRules() {
+        BulkUpdateTicketsResponse response = ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds)
+                .priority(TicketPriority.MEDIUM)
+                .build(),
+            owner.getUsername());
+        assertEquals(TICKETS, response.getUpdated());
+
+        assertThrows(UnauthorizedException.class, () -> ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds)
+                .status(TicketStatus.CLOSED)
+                .build(),
+            owner.getUsername()));
+
+        User stranger = createTestUser("bulk-stranger", Role.ROLE_USER);
+        assertThrows(UnauthorizedException.class, () -> ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds)
+                .priority(TicketPriority.CRITICAL)
+                .build(),
+            stranger.getUsername()));
+    }
+
+    @Test
+    @DisplayName("Only managers and admins may assign")
+    void technicianCannotAssign() {
+        assertThrows(UnauthorizedException.class, () -> ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ticketIds)
+                .assignedToId(technician.getId())
+                .build(),
+            technician.getUsername()));
+    }
+
+    @Test
+    @DisplayName("A missing ticket rejects the whole request")
+    void allOrNothing() {
+        List<UUID> ids = new ArrayList<>(ticketIds);
+        ids.add(UUID.randomUUID());
+
+        assertThrows(ResourceNotFoundException.class, () -> ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder()
+                .ticketIds(ids)
+                .status(TicketStatus.CLOSED)
+                .build(),
+            manager.getUsername()));
+
+        ticketRepository.findByIdIn(ticketIds).forEach(ticket ->
+            assertEquals(TicketStatus.OPEN, ticket.getStatus()));
+    }
+
+    @Test
+    @DisplayName("A request without any change is rejected")
+    void requiresChange() {
+        assertThrows(BadRequestException.class, () -> ticketService.bulkUpdateTickets(
+            BulkUpdateTicketsRequest.builder().ticketIds(ticketIds).build(),
+            manager.getUsername()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.CommentResponse;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
+import com.itoffice.ticketsystem.exception.UnauthorizedException;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketOutboxRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = "app.events.outbox.background-drain=false")
+@DisplayName("Ticket detail cache")
+class TicketDetailCacheTest extends BaseIntegrationTest {
+
+    @Autowired private TicketService ticketService;
+    @Autowired private CommentService commentService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private TicketOutboxRepository outboxRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User admin;
+    private UUID ticketId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createTestUser("detail-owner", Role.ROLE_USER);
+        admin = createTestUser("detail-admin", Role.ROLE_ADMIN);
+        ticketId = ticketRepository.save(Ticket.builder()
+                .title("VPN drops")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .createdBy(owner)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        commentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Repeated detail reads are served without SQL")
+    void repeatedReadsHitCache() {
+        ticketService.getTicketById(ticketId, owner.getUsername());
+        principalCache.find(admin.getUsername());
+
+        statistics.clear();
+        TicketResponse ticket = ticketService.getTicketById(ticketId, admin.getUsername());
+
+        assertEquals("VPN drops", ticket.getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Ownership is checked against the cached entry")
+    void cachedReadStillAuthorizes() {
+        ticketService.getTicketById(ticketId, admin.getUsername());
+        User stranger = createTestUser("detail-stranger", Role.ROLE_USER);
+
+        assertThrows(UnauthorizedException.class,
+            () -> ticketService.getTicketById(ticketId, stranger.getUsername()));
+    }
+
+    @Test
+    @DisplayName("Updates and comments evict the cached ticket")
+    void writesEvict() {
+        ticketService.getTicketById(ticketId, admin.getUsername());
+
+        ticketService.updateTicket(ticketId,
+            UpdateTicketRequest.builder().status(TicketStatus.IN_PROGRESS).build(),
+            admin.getUsername());
+        assertEquals(TicketStatus.IN_PROGRESS,
+            ticketService.getTicketById(ticketId, admin.getUsername()).getStatus());
+
+        CommentResponse comment = commentService.addComment(ticketId,
+            new CreateCommentRequest("Rebooted the router"), admin.getUsername());
+        assertEquals(1, ticketService.getTicketById(ticketId, admin.getUsername()).getCommentCount());
+
+        commentService.deleteComment(comment.getId(), admin.getUsername());
+        assertEquals(0, ticketService.getTicketById(ticketId, admin.getUsername()).getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Deleted tickets are not served from the cache")
+    void deleteEvicts() {
+        ticketService.getTicketById(ticketId, admin.getUsername());
+
+        ticketService.deleteTicket(ticketId, admin.getUsername());
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> ticketService.getTicketById(ticketId, admin.getUsername()));
+    }
+}
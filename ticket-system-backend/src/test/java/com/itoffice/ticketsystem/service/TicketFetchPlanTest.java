@@ -0,0 +1,148 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = "app.events.outbox.background-drain=false")
+@DisplayName("Ticket entity fetch plans")
+class TicketFetchPlanTest extends BaseIntegrationTest {
+
+    private static final int TICKETS = 10;
+    private static final Pageable PAGE = PageRequest.of(0, TICKETS);
+
+    @Autowired private TicketService ticketService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+    private User admin;
+    private User creator;
+    private UUID ticketId;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction = new TransactionTemplate(transactionManager);
+        admin = createTestUser("fetch-admin", Role.ROLE_ADMIN);
+        creator = createTestUser("fetch-creator", Role.ROLE_USER);
+
+        // Distinct assignees, so lazy loading would cost one select per ticket
+        for (int i = 0; i < TICKETS; i++) {
+            User assignee = createTestUser("fetch-tech-" + i, Role.ROLE_TECHNICIAN);
+            ticketId = ticketRepository.save(Ticket.builder()
+                    .title("Printer " + i)
+                    .description("Paper jam " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.MEDIUM)
+                    .createdBy(creator)
+                    .assignedTo(assignee)
+                    .build()).getId();
+        }
+        principalCache.find(admin.getUsername());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Without the entity graph, mapping lazy-loads every creator and assignee")
+    void lazyBaseline() {
+        // Cold second-level cache, so every lazy user is a select
+        entityManagerFactory.getCache().evictAll();
+        long statements = countStatements(() -> entityManager
+            .createQuery("SELECT t FROM Ticket t", Ticket.class)
+            .getResultList());
+
+        // one page select, one creator, one select per distinct assignee
+        assertEquals(2 + TICKETS, statements);
+    }
+
+    @Test
+    @DisplayName("findAll and findByCreatedBy load users with the page")
+    void pagedQueriesFetchUsers() {
+        assertEquals(2, countStatements(() -> ticketRepository.findAll(PAGE).getContent()));
+        assertEquals(2, countStatements(() -> ticketRepository.findByCreatedBy(creator, PAGE).getContent()));
+        assertEquals(1, countStatements(() -> ticketRepository.findByCreatedBy(creator)));
+        assertEquals(2, countStatements(() -> ticketRepository.searchTickets("printer", PAGE).getContent()));
+    }
+
+    @Test
+    @DisplayName("Count queries stay join-free")
+    void countQueriesHaveNoJoins() {
+        statistics.clear();
+        Page<Ticket> all = ticketRepository.findAll(PAGE);
+        Page<Ticket> search = ticketRepository.searchTickets("printer", PageRequest.of(0, 2));
+        Page<Ticket> own = ticketRepository.findByCreatedBy(creator, PageRequest.of(0, 2));
+
+        assertEquals(TICKETS, all.getTotalElements());
+        assertEquals(TICKETS, search.getTotalElements());
+        assertEquals(TICKETS, own.getTotalElements());
+        List<String> counts = Arrays.stream(statistics.getQueries())
+            .filter(query -> query.toLowerCase(Locale.ROOT).contains("count("))
+            .toList();
+        assertFalse(counts.isEmpty());
+        counts.forEach(query -> assertFalse(query.toLowerCase(Locale.ROOT).contains("join"), query));
+    }
+
+    @Test
+    @DisplayName("Ticket detail is one statement")
+    void detailIsOneStatement() {
+        statistics.clear();
+        TicketResponse ticket = ticketService.getTicketById(ticketId, admin.getUsername());
+
+        assertEquals(creator.getUsername(), ticket.getCreatedBy().getUsername());
+        assertNotNull(ticket.getAssignedTo());
+        // the caller is served by the principal cache
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatements(Supplier<List<Ticket>> query) {
+        return transaction.execute(status -> {
+            statistics.clear();
+            List<TicketResponse> mapped = query.get().stream()
+                .map(ticketService::mapToTicketResponse)
+                .toList();
+            assertEquals(TICKETS, mapped.size());
+            mapped.forEach(ticket -> assertNotNull(ticket.getAssignedTo().getUsername()));
+            return statistics.getPrepareStatementCount();
+        });
+    }
+}
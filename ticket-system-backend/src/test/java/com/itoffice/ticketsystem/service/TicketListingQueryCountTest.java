@@ -0,0 +1,122 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.model.Ticket;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketOutboxRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = "app.events.outbox.background-drain=false")
+@DisplayName("Ticket listing SQL statement count")
+class TicketListingQueryCountTest extends BaseIntegrationTest {
+
+    @Autowired private TicketService ticketService;
+    @Autowired private CommentService commentService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private TicketOutboxRepository outboxRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User admin;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        admin = createTestUser("listing-admin", Role.ROLE_ADMIN);
+        technician = createTestUser("listing-tech", Role.ROLE_TECHNICIAN);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        commentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Statement count per page does not grow with page size")
+    void statementCountStaysConstantPerPage() {
+        seedTickets(60);
+        principalCache.find(admin.getUsername());
+
+        long smallPage = countStatements(10);
+        long largePage = countStatements(50);
+
+        // page select + count query; the caller is served by the principal cache
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    @DisplayName("Listing maps creator, assignee and comment count from the projection")
+    void listingMapsJoinedColumns() {
+        seedTickets(3);
+
+        Page<TicketResponse> page = ticketService.getAllTickets(
+            admin.getUsername(),
+            PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+
+        assertEquals(3, page.getTotalElements());
+        page.getContent().forEach(ticket -> {
+            assertEquals(admin.getId(), ticket.getCreatedBy().getId());
+            assertEquals(technician.getUsername(),
+                ticket.getAssignedTo().getUsername());
+            assertEquals(2, ticket.getCommentCount());
+        });
+    }
+
+    private long countStatements(int pageSize) {
+        statistics.clear();
+        Page<TicketResponse> page = ticketService.getAllTickets(
+            admin.getUsername(),
+            PageRequest.of(0, pageSize, Sort.by("createdAt").descending()));
+        assertEquals(pageSize, page.getNumberOfElements());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedTickets(int count) {
+        for (int i = 0; i < count; i++) {
+            Ticket ticket = ticketRepository.save(Ticket.builder()
+                    .title("Ticket " + i)
+                    .description("Description " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.MEDIUM)
+                    .createdBy(admin)
+                    .assignedTo(technician)
+                    .build());
+
+            for (int c = 0; c < 2; c++) {
+                commentService.addComment(ticket.getId(),
+                        new CreateCommentRequest("Comment " + c),
+                        technician.getUsername());
+            }
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.itoffice.ticketsystem.service;
 import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
 import com.itoffice.ticketsystem.dto.request.UpdateTicketRequest;
 import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.dto.response.UserResponse;
+import com.itoffice.ticketsystem.event.TicketEventPublisher;
+import com.itoffice.ticketsystem.event.TicketEventType;
 import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
 import com.itoffice.ticketsystem.exception.UnauthorizedException;
 import com.itoffice.ticketsystem.model.Ticket;
@@ -10,27 +13,37 @@ import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.model.enums.TicketPriority;
 import com.itoffice.ticketsystem.model.enums.TicketStatus;
-import com.itoffice.ticketsystem.repository.CommentRepository;
 import com.itoffice.ticketsystem.repository.TicketRepository;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketSummary;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
+import com.itoffice.ticketsystem.sla.SlaPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,8 +52,12 @@ class TicketServiceTest {
 
     @Mock private TicketRepository ticketRepository;
     @Mock private UserRepository userRepository;
-    @Mock private CommentRepository commentRepository;
     @Mock private UserService userService;
+    @Mock private TicketEventPublisher ticketEventPublisher;
+    @Mock private UserPrincipalCache principalCache;
+    @Spy private SlaPolicy slaPolicy = new SlaPolicy(1, 4, 24, 72, Duration.ofHours(2));
+    @Spy private TicketDetailCache ticketDetailCache =
+        new TicketDetailCache(new ConcurrentMapCacheManager(TicketDetailCache.CACHE_NAME));
 
     @InjectMocks
     private TicketService ticketService;
@@ -49,6 +66,7 @@ class TicketServiceTest {
     private User regularUser;
     private User technicianUser;
     private Ticket mockTicket;
+    private TicketSummary mockSummary;
     private UUID ticketId;
 
     @BeforeEach
@@ -84,6 +102,13 @@ class TicketServiceTest {
                 .priority(TicketPriority.MEDIUM)
                 .createdBy(regularUser)
                 .build();
+
+        mockSummary = new TicketSummary(
+                ticketId, "Test Ticket", "Test Description",
+                TicketStatus.OPEN, TicketPriority.MEDIUM, null, null, null, null,
+                regularUser.getId(), "user", null, Role.ROLE_USER, true, null,
+                null, null, null, null, null, null,
+                0L);
     }
 
     @Test
@@ -91,15 +116,13 @@ class TicketServiceTest {
     void adminShouldSeeAllTickets() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Ticket> ticketPage = new PageImpl<>(
-            Arrays.asList(mockTicket));
+        Page<TicketSummary> ticketPage = new PageImpl<>(
+            Arrays.asList(mockSummary));
 
-        when(userRepository.findByUsername("admin"))
-            .thenReturn(Optional.of(adminUser));
-        when(ticketRepository.findAll(pageable))
+        when(principalCache.resolve("admin"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(adminUser)));
+        when(ticketRepository.findAllSummaries(pageable))
             .thenReturn(ticketPage);
-        when(userService.mapToUserResponse(any())).thenReturn(null);
-        when(commentRepository.countByTicket(any())).thenReturn(0L);
 
         // Act
         Page<TicketResponse> result = ticketService
@@ -107,8 +130,10 @@ class TicketServiceTest {
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        verify(ticketRepository, times(1)).findAll(pageable);
-        verify(ticketRepository, never()).findByCreatedBy(any(), any());
+        assertEquals("user", result.getContent().get(0)
+            .getCreatedBy().getUsername());
+        verify(ticketRepository, times(1)).findAllSummaries(pageable);
+        verify(ticketRepository, never()).findSummariesByCreatorId(any(), any());
     }
 
     @Test
@@ -116,15 +141,13 @@ class TicketServiceTest {
     void regularUserShouldOnlySeeOwnTickets() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Ticket> ticketPage = new PageImpl<>(
-            Arrays.asList(mockTicket));
+        Page<TicketSummary> ticketPage = new PageImpl<>(
+            Arrays.asList(mockSummary));
 
-        when(userRepository.findByUsername("user"))
-            .thenReturn(Optional.of(regularUser));
-        when(ticketRepository.findByCreatedBy(regularUser, pageable))
+        when(principalCache.resolve("user"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(regularUser)));
+        when(ticketRepository.findSummariesByCreatorId(regularUser.getId(), pageable))
             .thenReturn(ticketPage);
-        when(userService.mapToUserResponse(any())).thenReturn(null);
-        when(commentRepository.countByTicket(any())).thenReturn(0L);
 
         // Act
         Page<TicketResponse> result = ticketService
@@ -132,9 +155,9 @@ class TicketServiceTest {
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        verify(ticketRepository, never()).findAll(pageable);
+        verify(ticketRepository, never()).findAllSummaries(pageable);
         verify(ticketRepository, times(1))
-            .findByCreatedBy(regularUser, pageable);
+            .findSummariesByCreatorId(regularUser.getId(), pageable);
     }
 
     @Test
@@ -147,12 +170,11 @@ class TicketServiceTest {
                 .priority(TicketPriority.HIGH)
                 .build();
 
-        when(userRepository.findByUsername("user"))
-            .thenReturn(Optional.of(regularUser));
+        when(principalCache.resolve("user"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(regularUser)));
         when(ticketRepository.save(any(Ticket.class)))
             .thenReturn(mockTicket);
         when(userService.mapToUserResponse(any())).thenReturn(null);
-        when(commentRepository.countByTicket(any())).thenReturn(0L);
 
         // Act
         TicketResponse response = ticketService
@@ -160,7 +182,39 @@ class TicketServiceTest {
 
         // Assert
         assertNotNull(response);
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, times(1)).save(argThat(ticket ->
+            ticket.getDueAt() != null
+                && ticket.getDueAt().isAfter(LocalDateTime.now().plusHours(3))
+                && ticket.getDueAt().isBefore(LocalDateTime.now().plusHours(5))));
+    }
+
+    @Test
+    @DisplayName("Raising priority should pull the SLA deadline in from creation time")
+    void shouldRescheduleSlaWhenPriorityChanges() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(2);
+        mockTicket.setCreatedAt(createdAt);
+        mockTicket.setDueAt(createdAt.plusHours(24));
+        mockTicket.setSlaBreachedAt(createdAt.plusHours(1));
+        UpdateTicketRequest request = UpdateTicketRequest.builder()
+                .priority(TicketPriority.HIGH)
+                .build();
+
+        when(principalCache.resolve("user"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(regularUser)));
+        when(ticketRepository.findById(ticketId))
+            .thenReturn(Optional.of(mockTicket));
+        when(ticketRepository.save(any(Ticket.class)))
+            .thenReturn(mockTicket);
+        when(userService.mapToUserResponse(any())).thenReturn(null);
+
+        // Act
+        TicketResponse response = ticketService.updateTicket(ticketId, request, "user");
+
+        // Assert
+        assertEquals(createdAt.plusHours(4), mockTicket.getDueAt());
+        assertNull(mockTicket.getSlaBreachedAt());
+        assertFalse(response.isSlaBreached());
     }
 
     @Test
@@ -179,10 +233,12 @@ class TicketServiceTest {
                 .createdBy(anotherUser)
                 .build();
 
-        when(userRepository.findByUsername("user"))
-            .thenReturn(Optional.of(regularUser));
+        when(principalCache.resolve("user"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(regularUser)));
         when(ticketRepository.findById(anotherTicket.getId()))
             .thenReturn(Optional.of(anotherTicket));
+        when(userService.mapToUserResponse(anotherUser))
+            .thenReturn(UserResponse.builder().id(anotherUser.getId()).build());
 
         // Act & Assert
         assertThrows(UnauthorizedException.class,
@@ -198,14 +254,13 @@ class TicketServiceTest {
                 .status(TicketStatus.RESOLVED)
                 .build();
 
-        when(userRepository.findByUsername("technician"))
-            .thenReturn(Optional.of(technicianUser));
+        when(principalCache.resolve("technician"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(technicianUser)));
         when(ticketRepository.findById(ticketId))
             .thenReturn(Optional.of(mockTicket));
         when(ticketRepository.save(any(Ticket.class)))
             .thenReturn(mockTicket);
         when(userService.mapToUserResponse(any())).thenReturn(null);
-        when(commentRepository.countByTicket(any())).thenReturn(0L);
 
         // Act
         ticketService.updateTicket(ticketId, request, "technician");
@@ -213,6 +268,7 @@ class TicketServiceTest {
         // Assert
         assertNotNull(mockTicket.getResolvedAt());
         verify(ticketRepository, times(1)).save(mockTicket);
+        verify(ticketDetailCache).evict(ticketId);
     }
 
     @Test
@@ -232,8 +288,8 @@ class TicketServiceTest {
     @DisplayName("Should delete ticket when user is admin")
     void shouldDeleteTicketWhenUserIsAdmin() {
         // Arrange
-        when(userRepository.findByUsername("admin"))
-            .thenReturn(Optional.of(adminUser));
+        when(principalCache.resolve("admin"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(adminUser)));
         when(ticketRepository.findById(ticketId))
             .thenReturn(Optional.of(mockTicket));
 
@@ -242,6 +298,10 @@ class TicketServiceTest {
 
         // Assert
         verify(ticketRepository, times(1)).delete(mockTicket);
+        verify(ticketEventPublisher).publish(
+            eq(TicketEventType.DELETED), eq(ticketId), eq("admin"),
+            argThat(before -> before.getCreatorId().equals(regularUser.getId())),
+            isNull());
     }
 
     @Test
@@ -254,8 +314,8 @@ class TicketServiceTest {
                 .role(Role.ROLE_USER)
                 .build();
 
-        when(userRepository.findByUsername("another"))
-            .thenReturn(Optional.of(anotherUser));
+        when(principalCache.resolve("another"))
+            .thenReturn(Optional.of(AuthenticatedUser.from(anotherUser)));
         when(ticketRepository.findById(ticketId))
             .thenReturn(Optional.of(mockTicket));
 
@@ -0,0 +1,97 @@
+package com.itoffice.ticketsystem.service;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistics are global. The outbox stays on, as in production, but only explicit
+// drain() calls run the relay, so its queries stay out of the count
+@TestPropertySource(properties = "app.events.outbox.background-drain=false")
+@DisplayName("User second-level cache")
+class UserSecondLevelCacheTest extends BaseIntegrationTest {
+
+    @Autowired private UserService userService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = createTestUser("cached-user", Role.ROLE_USER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups by id and username are served without SQL")
+    void lookupsHitCache() {
+        userRepository.findByUsername(user.getUsername());
+
+        statistics.clear();
+        assertEquals(user.getId(), userRepository.findByUsername(user.getUsername()).orElseThrow().getId());
+        assertEquals(user.getUsername(), userService.getUserById(user.getId()).getUsername());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("UserService updates are visible to cached lookups")
+    void updatesInvalidate() {
+        userRepository.findByUsername(user.getUsername());
+
+        userService.updateUserRole(user.getId(), Role.ROLE_TECHNICIAN);
+        userService.toggleUserEnabled(user.getId());
+
+        User reloaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        assertEquals(Role.ROLE_TECHNICIAN, reloaded.getRole());
+        assertFalse(reloaded.isEnabled());
+        assertEquals(Role.ROLE_TECHNICIAN, userService.getUserById(user.getId()).getRole());
+    }
+
+    @Test
+    @DisplayName("Deleted users drop out of the cache")
+    void deleteInvalidates() {
+        userRepository.findByUsername(user.getUsername());
+        userService.getUserById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertTrue(userRepository.findByUsername(user.getUsername()).isEmpty());
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Region hits and misses are published as metrics")
+    void metricsExposed() {
+        userService.getUserById(user.getId());
+
+        assertFalse(meterRegistry.find("hibernate.second.level.cache.requests")
+            .tag("region", User.CACHE_REGION)
+            .tag("result", "hit")
+            .functionCounters().isEmpty());
+        assertFalse(meterRegistry.find("hibernate.cache.query.requests")
+            .tag("result", "miss")
+            .functionCounters().isEmpty());
+    }
+}
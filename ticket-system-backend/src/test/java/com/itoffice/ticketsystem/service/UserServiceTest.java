@@ -7,6 +7,8 @@ import com.itoffice.ticketsystem.exception.ResourceNotFoundException;
 import com.itoffice.ticketsystem.model.User;
 import com.itoffice.ticketsystem.model.enums.Role;
 import com.itoffice.ticketsystem.repository.UserRepository;
+import com.itoffice.ticketsystem.security.TokenVersionRegistry;
+import com.itoffice.ticketsystem.security.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +38,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserPrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersions;
+
     @InjectMocks
     private UserService userService;
 
@@ -188,6 +196,8 @@ class UserServiceTest {
         // Assert
         verify(userRepository, times(1)).save(any(User.class));
         verify(userRepository, times(1)).findById(userId);
+        verify(principalCache).evict(mockUser.getUsername());
+        verify(tokenVersions).update(userId, 1);
     }
 
     @Test
@@ -201,6 +211,8 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository, times(1)).deleteById(userId);
+        verify(principalCache).evictById(userId);
+        verify(tokenVersions).revoke(userId);
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.itoffice.ticketsystem.sla;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HierarchicalTimerWheel Tests")
+class HierarchicalTimerWheelTest {
+
+    private static final long START = 1_700_000_000L;
+
+    @Test
+    @DisplayName("Every timer fires exactly on its deadline tick across all levels")
+    void firesOnDeadline() {
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(START, 10_000);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Mix of seconds, minutes, hours and days ahead
+            long delta = 1 + (long) Math.pow(10, random.nextDouble() * 6);
+            deadlines.put(i, START + delta);
+            assertTrue(wheel.schedule(i, START + delta));
+        }
+
+        long end = START + 1_000_001;
+        for (long tick = START + 1; tick <= end; tick++) {
+            for (Integer key : wheel.advanceTo(tick)) {
+                assertEquals(deadlines.remove(key), tick, "timer " + key);
+            }
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Rescheduled and cancelled timers do not fire at the old deadline")
+    void rescheduleAndCancel() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(START, 10);
+        wheel.schedule("moved", START + 100);
+        wheel.schedule("cancelled", START + 100);
+        wheel.schedule("moved", START + 5_000);
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+
+        assertEquals(List.of(), wheel.advanceTo(START + 4_999));
+        assertEquals(List.of("moved"), wheel.advanceTo(START + 5_000));
+    }
+
+    @Test
+    @DisplayName("Overdue timers fire on the next tick; far-future ones wait beyond the span")
+    void overdueAndBeyondSpan() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(START, 10);
+        long farFuture = START + (1L << 24) + 12_345;
+        wheel.schedule("late", START - 60);
+        wheel.schedule("far", farFuture);
+
+        assertEquals(List.of("late"), wheel.advanceTo(START + 1));
+        assertEquals(List.of(), wheel.advanceTo(farFuture - 1));
+        assertEquals(List.of("far"), wheel.advanceTo(farFuture));
+    }
+
+    @Test
+    @DisplayName("Timers armed on the last tick of the span still fire on time")
+    void armedAtEndOfSpan() {
+        long lastTick = (1L << 24) * 101 - 1;
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(lastTick, 10);
+        wheel.schedule("next", lastTick + 1);
+        wheel.schedule("later", lastTick + 100_000);
+
+        assertEquals(List.of("next"), wheel.advanceTo(lastTick + 1));
+        assertEquals(List.of(), wheel.advanceTo(lastTick + 99_999));
+        assertEquals(List.of("later"), wheel.advanceTo(lastTick + 100_000));
+    }
+
+    @Test
+    @DisplayName("A full wheel refuses new timers but still re-arms existing ones")
+    void boundedCapacity() {
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(START, 2);
+        assertTrue(wheel.schedule(1, START + 10));
+        assertTrue(wheel.schedule(2, START + 10));
+        assertFalse(wheel.schedule(3, START + 10));
+        assertTrue(wheel.schedule(1, START + 20));
+        assertEquals(2, wheel.size());
+    }
+}
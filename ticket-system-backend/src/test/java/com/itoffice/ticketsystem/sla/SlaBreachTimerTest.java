@@ -0,0 +1,136 @@
+package com.itoffice.ticketsystem.sla;
+
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.scheduler.SlaBreachScanner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlaBreachTimer Tests")
+class SlaBreachTimerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Mock private TicketRepository ticketRepository;
+    @Mock private SlaBreachScanner slaBreachScanner;
+
+    private MovableClock clock;
+    private SlaBreachTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock(NOW.toInstant(ZoneOffset.UTC));
+        timer = new SlaBreachTimer(ticketRepository, slaBreachScanner, 100, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.destroy();
+    }
+
+    @Test
+    @DisplayName("A created ticket is reported the second its deadline passes")
+    void reportsAtDeadline() {
+        UUID ticketId = UUID.randomUUID();
+        timer.onTicketEvent(event(ticketId, TicketEventType.CREATED, null,
+            snapshot(TicketStatus.OPEN, NOW.plusSeconds(90))));
+        when(slaBreachScanner.report(List.of(ticketId))).thenReturn(1);
+
+        clock.advanceSeconds(89);
+        assertEquals(0, timer.tick());
+        verifyNoInteractions(slaBreachScanner);
+
+        clock.advanceSeconds(1);
+        assertEquals(1, timer.tick());
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    @DisplayName("Resolving or deleting a ticket cancels its deadline")
+    void cancelsWhenNoLongerRunning() {
+        UUID resolved = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        TicketSnapshot open = snapshot(TicketStatus.OPEN, NOW.plusMinutes(5));
+        timer.onTicketEvent(event(resolved, TicketEventType.CREATED, null, open));
+        timer.onTicketEvent(event(deleted, TicketEventType.CREATED, null, open));
+        assertEquals(2, timer.pending());
+
+        timer.onTicketEvent(event(resolved, TicketEventType.UPDATED, open,
+            snapshot(TicketStatus.RESOLVED, NOW.plusMinutes(5))));
+        timer.onTicketEvent(event(deleted, TicketEventType.DELETED, open, null));
+        timer.onTicketEvent(event(deleted, TicketEventType.COMMENT_ADDED, null, null));
+
+        clock.advanceSeconds(600);
+        assertEquals(0, timer.tick());
+        assertEquals(0, timer.pending());
+        verifyNoInteractions(slaBreachScanner);
+    }
+
+    private static TicketEvent event(UUID ticketId, TicketEventType type,
+                                     TicketSnapshot before, TicketSnapshot after) {
+        return TicketEvent.builder()
+                .type(type)
+                .ticketId(ticketId)
+                .actor("user")
+                .before(before)
+                .after(after)
+                .build();
+    }
+
+    private static TicketSnapshot snapshot(TicketStatus status, LocalDateTime dueAt) {
+        return TicketSnapshot.builder()
+                .status(status)
+                .priority(TicketPriority.HIGH)
+                .creatorId(UUID.randomUUID())
+                .dueAt(dueAt)
+                .build();
+    }
+
+    private static class MovableClock extends Clock {
+        private Instant instant;
+
+        MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.itoffice.ticketsystem.stats;
+
+import com.itoffice.ticketsystem.dto.response.TicketStatsResponse;
+import com.itoffice.ticketsystem.event.TicketEvent;
+import com.itoffice.ticketsystem.event.TicketEventType;
+import com.itoffice.ticketsystem.event.TicketSnapshot;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.model.enums.TicketStatus;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.repository.projection.TicketCounterRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CounterTicketStatsEngine Tests")
+class CounterTicketStatsEngineTest {
+
+    @Mock private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private CounterTicketStatsEngine engine;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID tech = UUID.randomUUID();
+
+    // Ticket rows as the database currently has them
+    private final Map<UUID, TicketCounterRow> database = new LinkedHashMap<>();
+
+    private UUID aliceTicket;
+
+    @BeforeEach
+    void setUp() {
+        aliceTicket = save(row(alice, TicketStatus.OPEN, null));
+        save(row(alice, TicketStatus.OPEN, null));
+        save(row(bob, TicketStatus.IN_PROGRESS, tech));
+
+        when(ticketRepository.streamCounterRows())
+            .thenAnswer(invocation -> List.copyOf(database.values()).stream());
+        lenient().when(ticketRepository.findCounterRowById(any()))
+            .thenAnswer(invocation -> Optional.ofNullable(database.get(invocation.getArgument(0, UUID.class))));
+
+        engine.buildCounters();
+    }
+
+    @Test
+    @DisplayName("Startup build counts all tickets and each creator's")
+    void buildsScopesFromDatabase() {
+        TicketStatsResponse all = engine.getStats(null);
+        assertEquals(3, all.getTotal());
+        assertEquals(2, all.getByStatus().get(TicketStatus.OPEN));
+        assertEquals(2, all.getUnassigned());
+        assertEquals("tech", all.getByAssignee().get(0).getUsername());
+
+        assertEquals(2, engine.getStats(alice).getTotal());
+        assertEquals(0, engine.getStats(UUID.randomUUID()).getTotal());
+    }
+
+    @Test
+    @DisplayName("Events move tickets between cells as the database has them")
+    void eventsAdjustCounters() {
+        database.put(aliceTicket, row(aliceTicket, alice, TicketStatus.IN_PROGRESS, tech));
+        engine.onTicketEvent(event(TicketEventType.UPDATED, aliceTicket));
+        UUID created = save(row(bob, TicketStatus.OPEN, null));
+        engine.onTicketEvent(event(TicketEventType.CREATED, created));
+        database.remove(created);
+        engine.onTicketEvent(event(TicketEventType.DELETED, created));
+
+        TicketStatsResponse all = engine.getStats(null);
+        assertEquals(3, all.getTotal());
+        assertEquals(1, all.getByStatus().get(TicketStatus.OPEN));
+        assertEquals(2, all.getByStatus().get(TicketStatus.IN_PROGRESS));
+        assertEquals(2, all.getByAssignee().get(0).getCount());
+        assertEquals(1, engine.getStats(alice).getByStatus().get(TicketStatus.IN_PROGRESS));
+    }
+
+    @Test
+    @DisplayName("Redelivered events and events dispatched after a rebuild count once")
+    void eventsAreIdempotent() {
+        UUID created = save(row(bob, TicketStatus.OPEN, null));
+        TicketEvent createdEvent = event(TicketEventType.CREATED, created);
+        engine.onTicketEvent(createdEvent);
+        engine.onTicketEvent(createdEvent);
+        assertEquals(4, engine.getStats(null).getTotal());
+
+        // The rebuild already sees the update; its event arrives afterwards
+        database.put(aliceTicket, row(aliceTicket, alice, TicketStatus.RESOLVED, null));
+        engine.buildCounters();
+        engine.onTicketEvent(event(TicketEventType.UPDATED, aliceTicket));
+
+        TicketStatsResponse all = engine.getStats(null);
+        assertEquals(4, all.getTotal());
+        assertEquals(1, all.getByStatus().get(TicketStatus.RESOLVED));
+        assertFalse(engine.reconcile());
+    }
+
+    @Test
+    @DisplayName("Comment events do not touch the database")
+    void ignoresCommentEvents() {
+        engine.onTicketEvent(TicketEvent.builder()
+                .type(TicketEventType.COMMENT_ADDED)
+                .ticketId(aliceTicket)
+                .build());
+
+        verify(ticketRepository, never()).findCounterRowById(any());
+    }
+
+    @Test
+    @DisplayName("Reconciliation repairs drift and is a no-op otherwise")
+    void reconcileRepairsDrift() {
+        assertFalse(engine.reconcile());
+
+        // A change whose event this instance never saw
+        save(row(bob, TicketStatus.OPEN, null));
+        assertEquals(3, engine.getStats(null).getTotal());
+
+        assertTrue(engine.reconcile());
+        assertEquals(4, engine.getStats(null).getTotal());
+    }
+
+    private UUID save(TicketCounterRow row) {
+        database.put(row.getId(), row);
+        return row.getId();
+    }
+
+    // Lifecycle events carry snapshots; their content is not used, the row is re-read
+    private TicketEvent event(TicketEventType type, UUID ticketId) {
+        TicketSnapshot snapshot = TicketSnapshot.builder()
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .build();
+        return TicketEvent.builder()
+                .type(type)
+                .ticketId(ticketId)
+                .before(type == TicketEventType.CREATED ? null : snapshot)
+                .after(type == TicketEventType.DELETED ? null : snapshot)
+                .build();
+    }
+
+    private TicketCounterRow row(UUID creator, TicketStatus status, UUID assignee) {
+        return row(UUID.randomUUID(), creator, status, assignee);
+    }
+
+    private TicketCounterRow row(UUID id, UUID creator, TicketStatus status, UUID assignee) {
+        return new TicketCounterRow() {
+            public UUID getId() { return id; }
+            public UUID getCreatorId() { return creator; }
+            public TicketStatus getStatus() { return status; }
+            public TicketPriority getPriority() { return TicketPriority.HIGH; }
+            public UUID getAssigneeId() { return assignee; }
+            public String getAssigneeUsername() { return assignee != null ? "tech" : null; }
+        };
+    }
+}
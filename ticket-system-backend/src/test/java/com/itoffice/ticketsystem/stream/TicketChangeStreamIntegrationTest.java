@@ -0,0 +1,150 @@
+package com.itoffice.ticketsystem.stream;
+
+import com.itoffice.ticketsystem.BaseIntegrationTest;
+import com.itoffice.ticketsystem.dto.request.CreateCommentRequest;
+import com.itoffice.ticketsystem.dto.request.CreateTicketRequest;
+import com.itoffice.ticketsystem.dto.response.TicketResponse;
+import com.itoffice.ticketsystem.event.TicketOutboxRelay;
+import com.itoffice.ticketsystem.model.User;
+import com.itoffice.ticketsystem.model.enums.Role;
+import com.itoffice.ticketsystem.model.enums.TicketPriority;
+import com.itoffice.ticketsystem.repository.CommentRepository;
+import com.itoffice.ticketsystem.repository.TicketRepository;
+import com.itoffice.ticketsystem.security.AuthenticatedUser;
+import com.itoffice.ticketsystem.security.JwtUtil;
+import com.itoffice.ticketsystem.service.CommentService;
+import com.itoffice.ticketsystem.service.TicketService;
+import com.itoffice.ticketsystem.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Printing a result reads the mock response headers while the stream's sender
+// thread may still be writing its first event
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@DisplayName("Ticket change stream Tests")
+class TicketChangeStreamIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private TicketService ticketService;
+    @Autowired private CommentService commentService;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private TicketOutboxRelay relay;
+    @Autowired private TicketChangeStream ticketChangeStream;
+    @Autowired private UserService userService;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+    private User admin;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        relay.drain();
+        commentRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        admin = createTestUser("stream-admin", Role.ROLE_ADMIN);
+        owner = createTestUser("stream-owner", Role.ROLE_USER);
+        createTestUser("stream-other", Role.ROLE_USER);
+    }
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+    }
+
+    @Test
+    @DisplayName("Subscribers receive committed changes filtered by role")
+    void streamsChangesByRole() throws Exception {
+        MvcResult adminStream = subscribe(admin);
+        MvcResult ownerStream = subscribe(owner);
+
+        TicketResponse othersTicket = createTicket("stream-other");
+        TicketResponse ownTicket = createTicket("stream-owner");
+        commentService.addComment(ownTicket.getId(),
+            new CreateCommentRequest("On it"), "stream-admin");
+        relay.drain();
+
+        awaitContent(ownerStream, "\"type\":\"COMMENT_ADDED\"");
+        awaitContent(adminStream, "\"type\":\"COMMENT_ADDED\"");
+
+        String adminEvents = adminStream.getResponse().getContentAsString();
+        assertTrue(adminEvents.contains(othersTicket.getId().toString()));
+        assertTrue(adminEvents.contains(ownTicket.getId().toString()));
+
+        String ownerEvents = ownerStream.getResponse().getContentAsString();
+        assertTrue(ownerEvents.contains("event:ticket"));
+        assertTrue(ownerEvents.contains(ownTicket.getId().toString()));
+        assertFalse(ownerEvents.contains(othersTicket.getId().toString()),
+            "users only see changes to their own tickets");
+    }
+
+    @Test
+    @DisplayName("Streams of demoted or disabled users are closed on the next change")
+    void closesStreamsOfRevokedUsers() throws Exception {
+        User technician = createTestUser("stream-tech", Role.ROLE_TECHNICIAN);
+        MvcResult adminStream = subscribe(admin);
+        MvcResult demotedStream = subscribe(technician);
+        MvcResult disabledStream = subscribe(owner);
+
+        userService.updateUserRole(technician.getId(), Role.ROLE_USER);
+        userService.toggleUserEnabled(owner.getId());
+        TicketResponse ticket = createTicket("stream-owner");
+        relay.drain();
+
+        awaitContent(adminStream, ticket.getId().toString());
+        assertEquals(1, ticketChangeStream.size());
+        assertFalse(demotedStream.getResponse().getContentAsString().contains(ticket.getId().toString()));
+        assertFalse(disabledStream.getResponse().getContentAsString().contains(ticket.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Anonymous clients cannot subscribe")
+    void requiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/tickets/stream"))
+                .andExpect(status().isForbidden());
+    }
+
+    private MvcResult subscribe(User user) throws Exception {
+        String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+        int before = ticketChangeStream.size();
+        MvcResult result = mockMvc.perform(get("/api/tickets/stream")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(result);
+        assertEquals(before + 1, ticketChangeStream.size());
+        return result;
+    }
+
+    private TicketResponse createTicket(String username) {
+        return ticketService.createTicket(CreateTicketRequest.builder()
+                .title("Stream ticket of " + username)
+                .priority(TicketPriority.LOW)
+                .build(), username);
+    }
+
+    private static void awaitContent(MvcResult stream, String fragment) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stream.getResponse().getContentAsString().contains(fragment)) {
+            assertTrue(System.nanoTime() < deadline, "never received " + fragment);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.itoffice.ticketsystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ConcurrencyLimitFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(100), 3,
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+        meterRegistry = new SimpleMeterRegistry();
+        filter.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Requests beyond the limit are shed with 503 and a retry hint")
+    void shedsWhenSaturated() throws Exception {
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(
+            () -> perform("/api/tickets", (request, response) -> {
+                started.countDown();
+                await(release);
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = perform("/api/tickets", new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+        assertEquals("3", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":503"));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.limit.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, perform("/api/tickets", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("The live stream and non-API paths bypass the limit")
+    void exemptsStreamAndNonApiPaths() throws Exception {
+        CompletableFuture.runAsync(() -> perform("/api/tickets", (request, response) -> {
+            started.countDown();
+            await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(200, perform(ConcurrencyLimitFilter.STREAM_PATH, new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/actuator/health", new MockFilterChain()).getStatus());
+    }
+
+    private MockHttpServletResponse perform(String path, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}